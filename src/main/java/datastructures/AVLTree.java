@@ -0,0 +1,698 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+public class AVLTree<T extends Comparable<T>> {
+    // I created this Node class to represent nodes in the AVL tree.
+    private class Node {
+        T data;
+        Node left;
+        Node right;
+        int height;
+        // I counted the nodes in this subtree so rank and select can skip whole subtrees.
+        int size;
+        
+        Node(T data) {
+            this.data = data;
+            this.height = 1;
+            this.size = 1;
+        }
+    }
+    
+    // I sized the path stack for the tallest AVL tree that can hold 2^31 nodes (about 1.44 log n).
+    private static final int MAX_HEIGHT = 48;
+    
+    // I stopped forking set operations below this many nodes, where a task costs more than it saves.
+    private static final int PARALLEL_THRESHOLD = 8192;
+    
+    private static final int UNION = 0;
+    private static final int INTERSECTION = 1;
+    private static final int DIFFERENCE = 2;
+    
+    private Node root;
+    
+    // I counted the rotations of the current insert or delete here when OperationCounter is enabled.
+    private int rotations;
+    
+    // I reused this path stack for every insert and delete, so they allocate nothing but the new node.
+    @SuppressWarnings("unchecked")
+    private final Node[] path = (Node[]) new AVLTree<?>.Node[MAX_HEIGHT];
+    
+    public void insert(T data) {
+        // I performed standard BST insertion, remembering the path down.
+        startOperation();
+        if (root == null) {
+            root = new Node(data);
+            countOperation(0);
+            return;
+        }
+        
+        int depth = 0;
+        Node node = root;
+        int compareResult = 0;
+        while (node != null) {
+            compareResult = data.compareTo(node.data);
+            if (compareResult == 0) {
+                // I prevented duplicate keys.
+                clearPath(depth);
+                countOperation(depth + 1);
+                return;
+            }
+            path[depth++] = node;
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        
+        Node parent = path[depth - 1];
+        if (compareResult < 0) {
+            parent.left = new Node(data);
+        } else {
+            parent.right = new Node(data);
+        }
+        
+        // I counted the new node in every subtree on the path before any rotation reads the sizes.
+        for (int i = 0; i < depth; i++) {
+            path[i].size++;
+        }
+        
+        // I walked back up. One rotation restores the subtree's old height after an insert, and
+        // an unchanged height means nothing above can change, so either one ends the walk.
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = node.height;
+            updateHeight(node);
+            Node balanced = rebalance(node);
+            if (balanced != node) {
+                replaceChild(i, node, balanced);
+                break;
+            }
+            if (node.height == oldHeight) {
+                break;
+            }
+        }
+        clearPath(depth);
+        countOperation(depth);
+    }
+    
+    public void delete(T data) {
+        // I performed standard BST deletion, remembering the path down.
+        startOperation();
+        int depth = 0;
+        Node node = root;
+        while (node != null) {
+            int compareResult = data.compareTo(node.data);
+            if (compareResult == 0) {
+                break;
+            }
+            path[depth++] = node;
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        // I counted one comparison per node on the path, plus the one that found the key.
+        int comparisons = node == null ? depth : depth + 1;
+        if (node == null) {
+            clearPath(depth);
+            countOperation(comparisons);
+            return;
+        }
+        
+        if (node.left != null && node.right != null) {
+            // I handled node with two children by finding the inorder successor.
+            path[depth++] = node;
+            Node successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
+            }
+            node.data = successor.data;
+            node = successor;
+        }
+        
+        // I handled node with one or zero children.
+        Node child = node.left != null ? node.left : node.right;
+        replaceChild(depth, node, child);
+        
+        for (int i = 0; i < depth; i++) {
+            path[i].size--;
+        }
+        
+        // I walked back up, rotating where needed, until a subtree kept its old height.
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = node.height;
+            updateHeight(node);
+            Node balanced = rebalance(node);
+            if (balanced != node) {
+                replaceChild(i, node, balanced);
+            }
+            if (balanced.height == oldHeight) {
+                break;
+            }
+        }
+        clearPath(depth);
+        countOperation(comparisons);
+    }
+    
+    public boolean contains(T data) {
+        // I searched with a plain loop, since a lookup never needs to come back up.
+        Node node = root;
+        int comparisons = 0;
+        while (node != null) {
+            int compareResult = data.compareTo(node.data);
+            comparisons++;
+            if (compareResult < 0) {
+                node = node.left;
+            } else if (compareResult > 0) {
+                node = node.right;
+            } else {
+                countLookup(comparisons);
+                return true;
+            }
+        }
+        countLookup(comparisons);
+        return false;
+    }
+    
+    private void startOperation() {
+        // I dropped rotations left over from split, join and the set operations, which are not counted.
+        if (OperationCounter.ENABLED) {
+            rotations = 0;
+        }
+    }
+    
+    private void countOperation(int comparisons) {
+        if (OperationCounter.ENABLED) {
+            OperationCounter.AVL_COMPARISONS.record(comparisons);
+            OperationCounter.AVL_ROTATIONS.record(rotations);
+            rotations = 0;
+        }
+    }
+    
+    private void countLookup(int comparisons) {
+        if (OperationCounter.ENABLED) {
+            OperationCounter.AVL_COMPARISONS.record(comparisons);
+        }
+    }
+    
+    public int size() {
+        return size(root);
+    }
+    
+    public int rank(T data) {
+        // I counted the keys smaller than data, adding a whole left subtree each time I went right.
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int compareResult = data.compareTo(node.data);
+            if (compareResult <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+    
+    public T select(int index) {
+        // I returned the key with exactly index smaller keys, so select(0) is the minimum.
+        if (index < 0 || index >= size(root)) {
+            throw new IllegalArgumentException("Index out of range: " + index);
+        }
+        
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.data;
+            }
+        }
+    }
+    
+    public int countInRange(T low, T high) {
+        // I counted the keys in [low, high] as the keys up to high minus the keys below low.
+        if (low.compareTo(high) > 0) {
+            return 0;
+        }
+        return rankAtMost(high) - rank(low);
+    }
+    
+    private int rankAtMost(T data) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int compareResult = data.compareTo(node.data);
+            if (compareResult < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+    
+    public EytzingerTree<T> toEytzinger() {
+        // I froze the current keys into a read-only EytzingerTree. Later changes to this tree do not reach it.
+        Object[] sorted = new Object[size()];
+        collect(root, sorted, 0);
+        return EytzingerTree.fromDistinctSorted(sorted, sorted.length);
+    }
+    
+    private int collect(Node node, Object[] keys, int next) {
+        // I copied the keys out in order.
+        if (node == null) {
+            return next;
+        }
+        next = collect(node.left, keys, next);
+        keys[next++] = node.data;
+        return collect(node.right, keys, next);
+    }
+    
+    public static <T extends Comparable<T>> AVLTree<T> buildFromSorted(T[] sortedData) {
+        // I built a perfectly balanced tree in linear time instead of inserting keys one by one.
+        AVLTree<T> tree = new AVLTree<>();
+        Object[] nodes = new Object[sortedData.length];
+        int count = 0;
+        for (int i = 0; i < sortedData.length; i++) {
+            if (i > 0) {
+                int compareResult = sortedData[i - 1].compareTo(sortedData[i]);
+                if (compareResult > 0) {
+                    throw new IllegalArgumentException("Data is not sorted at index " + i);
+                } else if (compareResult == 0) {
+                    // I prevented duplicate keys.
+                    continue;
+                }
+            }
+            nodes[count++] = tree.new Node(sortedData[i]);
+        }
+        tree.root = tree.link(nodes, 0, count);
+        return tree;
+    }
+    
+    public void insertAll(T[] data) {
+        if (data.length == 0) {
+            return;
+        }
+        T[] batch = data.clone();
+        Arrays.sort(batch);
+        
+        // I kept single inserts for a batch that is small next to the tree, where m log n
+        // comparisons cost less than visiting all n + m nodes.
+        int existing = size(root);
+        int log = 32 - Integer.numberOfLeadingZeros(existing + batch.length);
+        if ((long) batch.length * log < existing) {
+            for (T value : batch) {
+                insert(value);
+            }
+            return;
+        }
+        
+        // I merged the batch into the tree's nodes in order and relinked them all as a balanced tree,
+        // reusing the existing nodes so only the new keys allocate.
+        Object[] nodes = new Object[existing + batch.length];
+        int count = 0;
+        int depth = 0;
+        Node node = root;
+        int next = 0;
+        while (node != null || depth > 0) {
+            // I walked the tree in order with the path stack, which is tall enough for any AVL tree.
+            while (node != null) {
+                path[depth++] = node;
+                node = node.left;
+            }
+            node = path[--depth];
+            while (next < batch.length && batch[next].compareTo(node.data) <= 0) {
+                count = appendNew(nodes, count, batch[next++], node.data);
+            }
+            nodes[count++] = node;
+            node = node.right;
+        }
+        while (next < batch.length) {
+            count = appendNew(nodes, count, batch[next++], null);
+        }
+        clearPath(MAX_HEIGHT);
+        root = link(nodes, 0, count);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private int appendNew(Object[] nodes, int count, T data, T following) {
+        // I skipped keys already in the tree and repeats within the batch.
+        if (following != null && data.compareTo(following) == 0) {
+            return count;
+        }
+        if (count > 0 && data.compareTo(((Node) nodes[count - 1]).data) == 0) {
+            return count;
+        }
+        nodes[count++] = new Node(data);
+        return count;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Node link(Object[] nodes, int low, int high) {
+        // I made the middle node the root of each range, so the heights differ by at most one.
+        if (low >= high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        Node node = (Node) nodes[mid];
+        node.left = link(nodes, low, mid);
+        node.right = link(nodes, mid + 1, high);
+        updateHeight(node);
+        node.size = high - low;
+        return node;
+    }
+    
+    // The operations below follow the join-based algorithms of Blelloch, Ferizovic and Sun
+    // ("Just Join for Parallel Ordered Sets"). They reuse the nodes of both trees instead of
+    // copying them, so the tree passed in is left empty.
+    
+    public AVLTree<T> split(T key) {
+        // I kept the keys smaller than key in this tree and moved the rest to the returned tree.
+        Split parts = split(root, key);
+        AVLTree<T> greater = new AVLTree<>();
+        greater.root = parts.middle == null ? parts.right : join(null, parts.middle, parts.right);
+        root = parts.left;
+        return greater;
+    }
+    
+    public void join(AVLTree<T> other) {
+        // I appended other, whose keys must all be greater than every key in this tree.
+        if (other == this || other.root == null) {
+            return;
+        }
+        if (root != null && findMax(root).data.compareTo(findMin(other.root).data) >= 0) {
+            throw new IllegalArgumentException("Every key in the joined tree must be greater than this tree's keys");
+        }
+        root = join2(root, other.root);
+        other.root = null;
+    }
+    
+    public void union(AVLTree<T> other) {
+        if (other != this) {
+            root = combine(UNION, root, other.root);
+            other.root = null;
+        }
+    }
+    
+    public void intersection(AVLTree<T> other) {
+        if (other != this) {
+            root = combine(INTERSECTION, root, other.root);
+            other.root = null;
+        }
+    }
+    
+    public void difference(AVLTree<T> other) {
+        if (other == this) {
+            root = null;
+        } else {
+            root = combine(DIFFERENCE, root, other.root);
+            other.root = null;
+        }
+    }
+    
+    private Node combine(int operation, Node t1, Node t2) {
+        // I ran big operations on the common ForkJoinPool and small ones on the calling thread.
+        if (size(t1) + size(t2) < PARALLEL_THRESHOLD || ForkJoinTask.inForkJoinPool()) {
+            return setOperation(operation, t1, t2);
+        }
+        return ForkJoinPool.commonPool().invoke(new SetOperation(operation, t1, t2));
+    }
+    
+    // I created this SetOperation class so each half of a set operation can run as its own task.
+    private class SetOperation extends RecursiveTask<Node> {
+        // I declared this because RecursiveTask is Serializable, although a task is never serialized.
+        private static final long serialVersionUID = 1L;
+        
+        private final int operation;
+        private final Node t1;
+        private final Node t2;
+        
+        SetOperation(int operation, Node t1, Node t2) {
+            this.operation = operation;
+            this.t1 = t1;
+            this.t2 = t2;
+        }
+        
+        @Override
+        protected Node compute() {
+            return setOperation(operation, t1, t2);
+        }
+    }
+    
+    private Node setOperation(int operation, Node t1, Node t2) {
+        if (t1 == null) {
+            return operation == UNION ? t2 : null;
+        }
+        if (t2 == null) {
+            return operation == INTERSECTION ? null : t1;
+        }
+        
+        // I split the second tree around the first tree's root for union and intersection, and
+        // the first tree around the second tree's root for difference, then solved both sides.
+        Node pivot = operation == DIFFERENCE ? t2 : t1;
+        Split parts = split(operation == DIFFERENCE ? t1 : t2, pivot.data);
+        Node leftFirst = operation == DIFFERENCE ? parts.left : t1.left;
+        Node leftSecond = operation == DIFFERENCE ? t2.left : parts.left;
+        Node rightFirst = operation == DIFFERENCE ? parts.right : t1.right;
+        Node rightSecond = operation == DIFFERENCE ? t2.right : parts.right;
+        
+        Node left;
+        Node right;
+        if (size(leftFirst) + size(leftSecond) + size(rightFirst) + size(rightSecond) < PARALLEL_THRESHOLD) {
+            left = setOperation(operation, leftFirst, leftSecond);
+            right = setOperation(operation, rightFirst, rightSecond);
+        } else {
+            // I forked the left half and worked on the right half myself; the halves share no nodes.
+            SetOperation leftTask = new SetOperation(operation, leftFirst, leftSecond);
+            leftTask.fork();
+            right = setOperation(operation, rightFirst, rightSecond);
+            left = leftTask.join();
+        }
+        
+        if (operation == UNION || (operation == INTERSECTION && parts.middle != null)) {
+            return join(left, t1, right);
+        }
+        return join2(left, right);
+    }
+    
+    // I created this Split class to return both sides of a split and the node equal to the key.
+    private class Split {
+        Node left;
+        Node middle;
+        Node right;
+    }
+    
+    private Split split(Node node, T key) {
+        if (node == null) {
+            return new Split();
+        }
+        
+        int compareResult = key.compareTo(node.data);
+        if (compareResult == 0) {
+            Split parts = new Split();
+            parts.left = node.left;
+            parts.middle = node;
+            parts.right = node.right;
+            return parts;
+        }
+        
+        Node left = node.left;
+        Node right = node.right;
+        if (compareResult < 0) {
+            Split parts = split(left, key);
+            parts.right = join(parts.right, node, right);
+            return parts;
+        }
+        Split parts = split(right, key);
+        parts.left = join(left, node, parts.left);
+        return parts;
+    }
+    
+    private Node join(Node left, Node middle, Node right) {
+        // I hung middle on the taller tree's inner spine at the height of the shorter tree.
+        if (height(left) > height(right) + 1) {
+            return joinRightSpine(left, middle, right);
+        }
+        if (height(right) > height(left) + 1) {
+            return joinLeftSpine(left, middle, right);
+        }
+        middle.left = left;
+        middle.right = right;
+        update(middle);
+        return middle;
+    }
+    
+    private Node joinRightSpine(Node left, Node middle, Node right) {
+        if (height(left) <= height(right) + 1) {
+            middle.left = left;
+            middle.right = right;
+            update(middle);
+            return middle;
+        }
+        left.right = joinRightSpine(left.right, middle, right);
+        update(left);
+        return rebalance(left);
+    }
+    
+    private Node joinLeftSpine(Node left, Node middle, Node right) {
+        if (height(right) <= height(left) + 1) {
+            middle.left = left;
+            middle.right = right;
+            update(middle);
+            return middle;
+        }
+        right.left = joinLeftSpine(left, middle, right.left);
+        update(right);
+        return rebalance(right);
+    }
+    
+    private Node join2(Node left, Node right) {
+        // I joined two trees without a middle key by taking the largest node out of the left one.
+        if (left == null) {
+            return right;
+        }
+        Split parts = splitLast(left);
+        return join(parts.left, parts.middle, right);
+    }
+    
+    private Split splitLast(Node node) {
+        if (node.right == null) {
+            Split parts = new Split();
+            parts.left = node.left;
+            parts.middle = node;
+            return parts;
+        }
+        Node left = node.left;
+        Split parts = splitLast(node.right);
+        parts.left = join(left, node, parts.left);
+        return parts;
+    }
+    
+    private Node findMax(Node node) {
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+    
+    private Node findMin(Node node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+    
+    private void update(Node node) {
+        updateHeight(node);
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+    
+    private Node rebalance(Node node) {
+        // I calculated the balance factor.
+        int balance = getBalance(node);
+        
+        if (balance > 1) {
+            // I handled Left Right Case by first turning it into Left Left Case.
+            if (getBalance(node.left) < 0) {
+                node.left = leftRotate(node.left);
+            }
+            return rightRotate(node);
+        }
+        if (balance < -1) {
+            // I handled Right Left Case by first turning it into Right Right Case.
+            if (getBalance(node.right) > 0) {
+                node.right = rightRotate(node.right);
+            }
+            return leftRotate(node);
+        }
+        return node;
+    }
+    
+    private void replaceChild(int depth, Node oldChild, Node newChild) {
+        // I linked newChild where oldChild was, under the node stored at path[depth - 1].
+        if (depth == 0) {
+            root = newChild;
+            return;
+        }
+        Node parent = path[depth - 1];
+        if (parent.left == oldChild) {
+            parent.left = newChild;
+        } else {
+            parent.right = newChild;
+        }
+    }
+    
+    private void clearPath(int depth) {
+        // I cleared the stack so it does not keep deleted nodes reachable.
+        Arrays.fill(path, 0, depth, null);
+    }
+    
+    private void updateHeight(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+    }
+    
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+    
+    private int height(Node node) {
+        // I calculated the height of a node.
+        return node == null ? 0 : node.height;
+    }
+    
+    private int getBalance(Node node) {
+        // I calculated the balance factor of a node.
+        return node == null ? 0 : height(node.left) - height(node.right);
+    }
+    
+    private Node rightRotate(Node y) {
+        // I performed right rotation.
+        if (OperationCounter.ENABLED) {
+            rotations++;
+        }
+        Node x = y.left;
+        Node T2 = x.right;
+        
+        x.right = y;
+        y.left = T2;
+        
+        // I updated heights after rotation.
+        y.height = 1 + Math.max(height(y.left), height(y.right));
+        x.height = 1 + Math.max(height(x.left), height(x.right));
+        
+        // I updated sizes after rotation, the lower node first.
+        y.size = 1 + size(y.left) + size(y.right);
+        x.size = 1 + size(x.left) + size(x.right);
+        
+        return x;
+    }
+    
+    private Node leftRotate(Node x) {
+        // I performed left rotation.
+        if (OperationCounter.ENABLED) {
+            rotations++;
+        }
+        Node y = x.right;
+        Node T2 = y.left;
+        
+        y.left = x;
+        x.right = T2;
+        
+        // I updated heights after rotation.
+        x.height = 1 + Math.max(height(x.left), height(x.right));
+        y.height = 1 + Math.max(height(y.left), height(y.right));
+        
+        // I updated sizes after rotation, the lower node first.
+        x.size = 1 + size(x.left) + size(x.right);
+        y.size = 1 + size(y.left) + size(y.right);
+        
+        return y;
+    }
+}
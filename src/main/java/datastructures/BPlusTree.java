@@ -0,0 +1,351 @@
+package datastructures;
+
+import java.util.function.Consumer;
+
+public class BPlusTree<T extends Comparable<T>> {
+    // I kept up to 16 keys per node by default. With compressed references that is one 64-byte
+    // cache line of key references, and a search touches about log16(n) nodes instead of log2(n).
+    public static final int DEFAULT_ORDER = 16;
+    
+    private static final int MAX_DEPTH = 32;
+    
+    // I kept every key in the leaves and only copies of keys in the inner nodes, which route
+    // searches. keys[i] of an inner node is the smallest key its child i + 1 may hold.
+    private abstract static class Node {
+        final Object[] keys;
+        int count;
+        
+        Node(int order) {
+            // I left one spare slot so a node can overflow for a moment before it splits.
+            keys = new Object[order + 1];
+        }
+    }
+    
+    private static final class Leaf extends Node {
+        // I linked each leaf to the next one so a range scan walks the leaves without going back up.
+        Leaf next;
+        
+        Leaf(int order) {
+            super(order);
+        }
+    }
+    
+    private static final class Inner extends Node {
+        final Node[] children;
+        
+        Inner(int order) {
+            super(order);
+            children = new Node[order + 2];
+        }
+    }
+    
+    private final int order;
+    private final int minKeys;
+    private Node root;
+    private int size;
+    
+    // I reused these stacks for every insert and delete, as AVLTree does with its path.
+    private final Inner[] path = new Inner[MAX_DEPTH];
+    private final int[] pathIndex = new int[MAX_DEPTH];
+    
+    public BPlusTree() {
+        this(DEFAULT_ORDER);
+    }
+    
+    public BPlusTree(int order) {
+        if (order < 3) {
+            throw new IllegalArgumentException("Order must be at least 3: " + order);
+        }
+        this.order = order;
+        this.minKeys = order / 2;
+        this.root = new Leaf(order);
+    }
+    
+    public void insert(T data) {
+        // I walked down to the leaf, remembering the inner nodes and which child I took.
+        int depth = 0;
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int index = upperBound(inner, data);
+            path[depth] = inner;
+            pathIndex[depth++] = index;
+            node = inner.children[index];
+        }
+        
+        Leaf leaf = (Leaf) node;
+        int position = lowerBound(leaf, data);
+        if (position < leaf.count && data.compareTo(key(leaf, position)) == 0) {
+            // I prevented duplicate keys.
+            clearPath(depth);
+            return;
+        }
+        insertAt(leaf.keys, leaf.count, position, data);
+        leaf.count++;
+        size++;
+        
+        // I split full nodes on the way back up, passing a separator and a new right sibling to the parent.
+        Node right = null;
+        Object separator = null;
+        if (leaf.count > order) {
+            Leaf sibling = splitLeaf(leaf);
+            right = sibling;
+            separator = sibling.keys[0];
+        }
+        for (int i = depth - 1; i >= 0 && right != null; i--) {
+            Inner parent = path[i];
+            int index = pathIndex[i];
+            insertAt(parent.keys, parent.count, index, separator);
+            insertAt(parent.children, parent.count + 1, index + 1, right);
+            parent.count++;
+            if (parent.count > order) {
+                // I moved the middle key up instead of copying it, as inner nodes only route.
+                int middle = parent.count / 2;
+                separator = parent.keys[middle];
+                right = splitInner(parent, middle);
+            } else {
+                right = null;
+            }
+        }
+        if (right != null) {
+            // I grew the tree at the root, which keeps every leaf at the same depth.
+            Inner newRoot = new Inner(order);
+            newRoot.keys[0] = separator;
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            newRoot.count = 1;
+            root = newRoot;
+        }
+        clearPath(depth);
+    }
+    
+    public void delete(T data) {
+        int depth = 0;
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int index = upperBound(inner, data);
+            path[depth] = inner;
+            pathIndex[depth++] = index;
+            node = inner.children[index];
+        }
+        
+        Leaf leaf = (Leaf) node;
+        int position = lowerBound(leaf, data);
+        if (position == leaf.count || data.compareTo(key(leaf, position)) != 0) {
+            clearPath(depth);
+            return;
+        }
+        removeAt(leaf.keys, leaf.count, position);
+        leaf.count--;
+        size--;
+        
+        // I refilled nodes that fell below half full from a sibling, or merged them into it,
+        // walking up as long as a merge left the parent short too.
+        node = leaf;
+        for (int i = depth - 1; i >= 0 && node.count < minKeys; i--) {
+            Inner parent = path[i];
+            int index = pathIndex[i];
+            if (!borrow(parent, index)) {
+                // I merged a pair of neighbours, taking the right one of the pair into the left.
+                merge(parent, index > 0 ? index - 1 : index);
+            }
+            node = parent;
+        }
+        if (root instanceof Inner && root.count == 0) {
+            // I shrank the tree at the root once its last separator was merged away.
+            root = ((Inner) root).children[0];
+        }
+        clearPath(depth);
+    }
+    
+    public boolean contains(T data) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[upperBound(inner, data)];
+        }
+        int position = lowerBound(node, data);
+        return position < node.count && data.compareTo(key(node, position)) == 0;
+    }
+    
+    public void forEachInRange(T low, T high, Consumer<? super T> action) {
+        // I found the first key not below low, then followed the leaf links until passing high.
+        if (low.compareTo(high) > 0) {
+            return;
+        }
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[upperBound(inner, low)];
+        }
+        Leaf leaf = (Leaf) node;
+        int position = lowerBound(leaf, low);
+        while (leaf != null) {
+            for (; position < leaf.count; position++) {
+                T key = key(leaf, position);
+                if (key.compareTo(high) > 0) {
+                    return;
+                }
+                action.accept(key);
+            }
+            leaf = leaf.next;
+            position = 0;
+        }
+    }
+    
+    public int countInRange(T low, T high) {
+        int[] count = new int[1];
+        forEachInRange(low, high, key -> count[0]++);
+        return count[0];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private Leaf splitLeaf(Leaf leaf) {
+        // I kept the lower half and moved the upper half into a new leaf linked after it.
+        Leaf sibling = new Leaf(order);
+        int keep = leaf.count / 2;
+        sibling.count = leaf.count - keep;
+        System.arraycopy(leaf.keys, keep, sibling.keys, 0, sibling.count);
+        clear(leaf.keys, keep, leaf.count);
+        leaf.count = keep;
+        sibling.next = leaf.next;
+        leaf.next = sibling;
+        return sibling;
+    }
+    
+    private Inner splitInner(Inner inner, int middle) {
+        Inner sibling = new Inner(order);
+        sibling.count = inner.count - middle - 1;
+        System.arraycopy(inner.keys, middle + 1, sibling.keys, 0, sibling.count);
+        System.arraycopy(inner.children, middle + 1, sibling.children, 0, sibling.count + 1);
+        clear(inner.keys, middle, inner.count);
+        clear(inner.children, middle + 1, inner.count + 1);
+        inner.count = middle;
+        return sibling;
+    }
+    
+    private boolean borrow(Inner parent, int index) {
+        // I took one key from a neighbour with keys to spare, rotating it through the parent's separator.
+        Node node = parent.children[index];
+        if (index > 0 && parent.children[index - 1].count > minKeys) {
+            Node left = parent.children[index - 1];
+            if (node instanceof Leaf) {
+                insertAt(node.keys, node.count, 0, left.keys[left.count - 1]);
+                parent.keys[index - 1] = node.keys[0];
+            } else {
+                Inner inner = (Inner) node;
+                Inner leftInner = (Inner) left;
+                insertAt(inner.keys, inner.count, 0, parent.keys[index - 1]);
+                insertAt(inner.children, inner.count + 1, 0, leftInner.children[left.count]);
+                parent.keys[index - 1] = left.keys[left.count - 1];
+                leftInner.children[left.count] = null;
+            }
+            left.keys[left.count - 1] = null;
+            left.count--;
+            node.count++;
+            return true;
+        }
+        if (index < parent.count && parent.children[index + 1].count > minKeys) {
+            Node right = parent.children[index + 1];
+            if (node instanceof Leaf) {
+                node.keys[node.count] = right.keys[0];
+                removeAt(right.keys, right.count, 0);
+                parent.keys[index] = right.keys[0];
+            } else {
+                Inner inner = (Inner) node;
+                Inner rightInner = (Inner) right;
+                inner.keys[inner.count] = parent.keys[index];
+                inner.children[inner.count + 1] = rightInner.children[0];
+                parent.keys[index] = right.keys[0];
+                removeAt(right.keys, right.count, 0);
+                removeAt(rightInner.children, right.count + 1, 0);
+            }
+            right.count--;
+            node.count++;
+            return true;
+        }
+        return false;
+    }
+    
+    private void merge(Inner parent, int index) {
+        // I appended children[index + 1] to children[index] and dropped the separator between them.
+        Node left = parent.children[index];
+        Node right = parent.children[index + 1];
+        if (left instanceof Leaf) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            left.count += right.count;
+            ((Leaf) left).next = ((Leaf) right).next;
+        } else {
+            // I pulled the separator down between the two halves, since inner keys do not repeat leaf keys.
+            left.keys[left.count] = parent.keys[index];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1, right.count);
+            System.arraycopy(((Inner) right).children, 0, ((Inner) left).children, left.count + 1, right.count + 1);
+            left.count += right.count + 1;
+        }
+        removeAt(parent.keys, parent.count, index);
+        removeAt(parent.children, parent.count + 1, index + 1);
+        parent.count--;
+    }
+    
+    private int lowerBound(Node node, T data) {
+        // I binary searched for the first key not less than data.
+        int low = 0;
+        int high = node.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key(node, mid).compareTo(data) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private int upperBound(Inner inner, T data) {
+        // I found the first separator greater than data; its index is the child to follow.
+        int low = 0;
+        int high = inner.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key(inner, mid).compareTo(data) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private static void insertAt(Object[] array, int length, int index, Object value) {
+        System.arraycopy(array, index, array, index + 1, length - index);
+        array[index] = value;
+    }
+    
+    private static void removeAt(Object[] array, int length, int index) {
+        System.arraycopy(array, index + 1, array, index, length - index - 1);
+        array[length - 1] = null;
+    }
+    
+    private static void clear(Object[] array, int from, int to) {
+        for (int i = from; i < to; i++) {
+            array[i] = null;
+        }
+    }
+    
+    private void clearPath(int depth) {
+        // I cleared the stack so it does not keep merged nodes reachable.
+        for (int i = 0; i < depth; i++) {
+            path[i] = null;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private T key(Node node, int index) {
+        return (T) node.keys[index];
+    }
+}
@@ -0,0 +1,690 @@
+package datastructures;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+// I followed the optimistic concurrent AVL tree of Bronson, Casper, Chafi and Olukotun
+// ("A Practical Concurrent Binary Search Tree"). Readers take no locks: they check a version
+// number on each node they pass and retry if a rotation moved it. Writers lock only the nodes
+// they link, unlink or rotate, and the balance is repaired afterwards, so the tree is only
+// approximately balanced while writes are in flight.
+public class ConcurrentAVLTree<T extends Comparable<T>> {
+    // I kept the unlinked flag, the shrinking flag and a count of past shrinks in one version word.
+    private static final long UNLINKED = 1L;
+    private static final long SHRINKING = 2L;
+    private static final long SHRINK_COUNT_INCREMENT = 4L;
+    
+    // I marked a node present with this value; a null value makes it a routing node that only
+    // guides searches, which is how a node with two children is deleted.
+    private static final Object PRESENT = new Object();
+    
+    // I spun this many times on a shrinking node before blocking on its lock.
+    private static final int SPIN_COUNT = 100;
+    
+    private static final int UNLINK_REQUIRED = -1;
+    private static final int REBALANCE_REQUIRED = -2;
+    private static final int NOTHING_REQUIRED = -3;
+    
+    private static final Object RETRY = new Object();
+    private static final Object FOUND = new Object();
+    private static final Object NOT_FOUND = new Object();
+    
+    private static final class Node<T> {
+        final T data;
+        volatile int height;
+        volatile long version;
+        volatile Object value;
+        volatile Node<T> parent;
+        volatile Node<T> left;
+        volatile Node<T> right;
+        
+        Node(T data, int height, Object value, Node<T> parent) {
+            this.data = data;
+            this.height = height;
+            this.value = value;
+            this.parent = parent;
+        }
+        
+        Node<T> child(int direction) {
+            return direction < 0 ? left : right;
+        }
+        
+        void setChild(int direction, Node<T> child) {
+            if (direction < 0) {
+                left = child;
+            } else {
+                right = child;
+            }
+        }
+    }
+    
+    // I hung the real root off the right of a holder node, so the root can be rotated like any other node.
+    private final Node<T> rootHolder = new Node<>(null, 1, null, null);
+    private final LongAdder size = new LongAdder();
+    
+    public boolean contains(T data) {
+        while (true) {
+            Node<T> right = rootHolder.right;
+            if (right == null) {
+                return false;
+            }
+            int compareResult = data.compareTo(right.data);
+            if (compareResult == 0) {
+                return right.value != null;
+            }
+            long version = right.version;
+            if (isShrinkingOrUnlinked(version)) {
+                waitUntilNotChanging(right);
+            } else if (right == rootHolder.right) {
+                Object result = attemptGet(data, right, compareResult, version);
+                if (result != RETRY) {
+                    return result == FOUND;
+                }
+            }
+        }
+    }
+    
+    public void insert(T data) {
+        while (true) {
+            Node<T> right = rootHolder.right;
+            if (right == null) {
+                synchronized (rootHolder) {
+                    if (rootHolder.right == null) {
+                        rootHolder.right = new Node<>(data, 1, PRESENT, rootHolder);
+                        rootHolder.height = 2;
+                        size.increment();
+                        return;
+                    }
+                }
+                continue;
+            }
+            long version = right.version;
+            if (isShrinkingOrUnlinked(version)) {
+                waitUntilNotChanging(right);
+            } else if (right == rootHolder.right && attemptUpdate(data, PRESENT, right, version) != RETRY) {
+                return;
+            }
+        }
+    }
+    
+    public void delete(T data) {
+        while (true) {
+            Node<T> right = rootHolder.right;
+            if (right == null) {
+                return;
+            }
+            long version = right.version;
+            if (isShrinkingOrUnlinked(version)) {
+                waitUntilNotChanging(right);
+            } else if (right == rootHolder.right && attemptUpdate(data, null, right, version) != RETRY) {
+                return;
+            }
+        }
+    }
+    
+    public int size() {
+        return size.intValue();
+    }
+    
+    private Object attemptGet(T data, Node<T> node, int direction, long nodeVersion) {
+        while (true) {
+            Node<T> child = node.child(direction);
+            if (child == null) {
+                // I checked that no rotation moved node while I read its child.
+                return node.version != nodeVersion ? RETRY : NOT_FOUND;
+            }
+            
+            int compareResult = data.compareTo(child.data);
+            if (compareResult == 0) {
+                return child.value != null ? FOUND : NOT_FOUND;
+            }
+            
+            long childVersion = child.version;
+            if (isShrinkingOrUnlinked(childVersion)) {
+                waitUntilNotChanging(child);
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+            } else if (child != node.child(direction)) {
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+            } else {
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+                // I went one level down hand over hand; a RETRY from there means the child moved,
+                // so I tried the child again from this node.
+                Object result = attemptGet(data, child, compareResult, childVersion);
+                if (result != RETRY) {
+                    return result;
+                }
+            }
+        }
+    }
+    
+    private Object attemptUpdate(T data, Object newValue, Node<T> node, long nodeVersion) {
+        int compareResult = data.compareTo(node.data);
+        if (compareResult == 0) {
+            return attemptNodeUpdate(newValue, node);
+        }
+        
+        while (true) {
+            Node<T> child = node.child(compareResult);
+            if (node.version != nodeVersion) {
+                return RETRY;
+            }
+            
+            if (child == null) {
+                if (newValue == null) {
+                    // I had nothing to delete.
+                    return NOT_FOUND;
+                }
+                Node<T> damaged;
+                synchronized (node) {
+                    if (node.version != nodeVersion) {
+                        return RETRY;
+                    }
+                    if (node.child(compareResult) != null) {
+                        // I lost a race with another insert, so I looked at the new child.
+                        continue;
+                    }
+                    node.setChild(compareResult, new Node<>(data, 1, PRESENT, node));
+                    size.increment();
+                    damaged = fixHeight(node);
+                }
+                fixHeightAndRebalance(damaged);
+                return FOUND;
+            }
+            
+            long childVersion = child.version;
+            if (isShrinkingOrUnlinked(childVersion)) {
+                waitUntilNotChanging(child);
+            } else if (child == node.child(compareResult)) {
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+                Object result = attemptUpdate(data, newValue, child, childVersion);
+                if (result != RETRY) {
+                    return result;
+                }
+            }
+        }
+    }
+    
+    private Object attemptNodeUpdate(Object newValue, Node<T> node) {
+        if (newValue == null) {
+            if (node.value == null) {
+                return NOT_FOUND;
+            }
+            
+            if (node.left == null || node.right == null) {
+                // I unlinked a node with at most one child, locking its parent first and then the node.
+                Node<T> parent = node.parent;
+                Node<T> damaged;
+                synchronized (parent) {
+                    if (isUnlinked(parent.version) || node.parent != parent) {
+                        return RETRY;
+                    }
+                    synchronized (node) {
+                        if (node.value == null) {
+                            return NOT_FOUND;
+                        }
+                        if (!attemptUnlink(parent, node)) {
+                            return RETRY;
+                        }
+                    }
+                    size.decrement();
+                    damaged = fixHeight(parent);
+                }
+                fixHeightAndRebalance(damaged);
+                return FOUND;
+            }
+        }
+        
+        synchronized (node) {
+            if (isUnlinked(node.version)) {
+                return RETRY;
+            }
+            if (newValue == null && (node.left == null || node.right == null)) {
+                // I retried because the node can now be unlinked instead of turned into a routing node.
+                return RETRY;
+            }
+            Object previous = node.value;
+            node.value = newValue;
+            if (previous == null && newValue != null) {
+                size.increment();
+            } else if (previous != null && newValue == null) {
+                size.decrement();
+            }
+            return previous != null ? FOUND : NOT_FOUND;
+        }
+    }
+    
+    private boolean attemptUnlink(Node<T> parent, Node<T> node) {
+        // I was called with both parent and node locked.
+        Node<T> parentLeft = parent.left;
+        Node<T> parentRight = parent.right;
+        if (parentLeft != node && parentRight != node) {
+            return false;
+        }
+        
+        Node<T> left = node.left;
+        Node<T> right = node.right;
+        if (left != null && right != null) {
+            return false;
+        }
+        
+        Node<T> splice = left != null ? left : right;
+        if (parentLeft == node) {
+            parent.left = splice;
+        } else {
+            parent.right = splice;
+        }
+        if (splice != null) {
+            splice.parent = parent;
+        }
+        
+        node.version = UNLINKED;
+        node.value = null;
+        return true;
+    }
+    
+    private int nodeCondition(Node<T> node) {
+        // I worked out what node needs from a racy read; the caller locks and checks again.
+        Node<T> left = node.left;
+        Node<T> right = node.right;
+        if ((left == null || right == null) && node.value == null) {
+            return UNLINK_REQUIRED;
+        }
+        
+        int heightNode = node.height;
+        int heightLeft = height(left);
+        int heightRight = height(right);
+        int newHeight = 1 + Math.max(heightLeft, heightRight);
+        int balance = heightLeft - heightRight;
+        
+        if (balance < -1 || balance > 1) {
+            return REBALANCE_REQUIRED;
+        }
+        return heightNode != newHeight ? newHeight : NOTHING_REQUIRED;
+    }
+    
+    private Node<T> fixHeight(Node<T> node) {
+        // I was called with node locked, and returned the next node that may need repair.
+        int condition = nodeCondition(node);
+        if (condition == REBALANCE_REQUIRED || condition == UNLINK_REQUIRED) {
+            return node;
+        } else if (condition == NOTHING_REQUIRED) {
+            return null;
+        }
+        node.height = condition;
+        return node.parent;
+    }
+    
+    private void fixHeightAndRebalance(Node<T> node) {
+        // I walked up from a damaged node, fixing heights and rotating, until nothing changed.
+        // A rotation can change the height of its subtree while handing back a damaged child to
+        // repair first, so I kept the parent of each rotation and walked up from it again afterwards.
+        ArrayDeque<Node<T>> revisit = null;
+        while (true) {
+            if (node == null || node.parent == null || isUnlinked(node.version)) {
+                if (revisit == null || revisit.isEmpty()) {
+                    return;
+                }
+                node = revisit.pop();
+                continue;
+            }
+            
+            int condition = nodeCondition(node);
+            if (condition == NOTHING_REQUIRED) {
+                node = null;
+            } else if (condition != UNLINK_REQUIRED && condition != REBALANCE_REQUIRED) {
+                synchronized (node) {
+                    node = fixHeight(node);
+                }
+            } else {
+                Node<T> parent = node.parent;
+                synchronized (parent) {
+                    if (!isUnlinked(parent.version) && node.parent == parent) {
+                        synchronized (node) {
+                            Node<T> damaged = rebalance(parent, node);
+                            if (node.parent != parent) {
+                                if (revisit == null) {
+                                    revisit = new ArrayDeque<>();
+                                }
+                                revisit.push(parent);
+                            }
+                            node = damaged;
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    private Node<T> rebalance(Node<T> parent, Node<T> node) {
+        // I was called with parent and node locked.
+        Node<T> left = node.left;
+        Node<T> right = node.right;
+        if ((left == null || right == null) && node.value == null) {
+            return attemptUnlink(parent, node) ? fixHeight(parent) : node;
+        }
+        
+        int heightNode = node.height;
+        int heightLeft = height(left);
+        int heightRight = height(right);
+        int newHeight = 1 + Math.max(heightLeft, heightRight);
+        int balance = heightLeft - heightRight;
+        
+        if (balance > 1) {
+            return rebalanceToRight(parent, node, left, heightRight);
+        } else if (balance < -1) {
+            return rebalanceToLeft(parent, node, right, heightLeft);
+        } else if (newHeight != heightNode) {
+            node.height = newHeight;
+            return fixHeight(parent);
+        }
+        return null;
+    }
+    
+    private Node<T> rebalanceToRight(Node<T> parent, Node<T> node, Node<T> left, int heightRight) {
+        // I rotated right because the left side is too tall, first rotating left.left if left.right is taller.
+        synchronized (left) {
+            int heightLeft = left.height;
+            if (heightLeft - heightRight <= 1) {
+                return node;
+            }
+            
+            Node<T> leftRight = left.right;
+            int heightLeftLeft = height(left.left);
+            int heightLeftRight = height(leftRight);
+            if (heightLeftLeft >= heightLeftRight) {
+                return rotateRight(parent, node, left, heightRight, heightLeftLeft, leftRight, heightLeftRight);
+            }
+            
+            synchronized (leftRight) {
+                heightLeftRight = leftRight.height;
+                if (heightLeftLeft >= heightLeftRight) {
+                    return rotateRight(parent, node, left, heightRight, heightLeftLeft, leftRight, heightLeftRight);
+                }
+                int heightLeftRightLeft = height(leftRight.left);
+                int balance = heightLeftLeft - heightLeftRightLeft;
+                if (balance >= -1 && balance <= 1) {
+                    return rotateRightOverLeft(parent, node, left, heightRight, heightLeftLeft, leftRight, heightLeftRightLeft);
+                }
+            }
+            // I fixed the left child on its own; node is looked at again afterwards.
+            return rebalanceToLeft(node, left, leftRight, heightLeftLeft);
+        }
+    }
+    
+    private Node<T> rebalanceToLeft(Node<T> parent, Node<T> node, Node<T> right, int heightLeft) {
+        synchronized (right) {
+            int heightRight = right.height;
+            if (heightLeft - heightRight >= -1) {
+                return node;
+            }
+            
+            Node<T> rightLeft = right.left;
+            int heightRightLeft = height(rightLeft);
+            int heightRightRight = height(right.right);
+            if (heightRightRight >= heightRightLeft) {
+                return rotateLeft(parent, node, heightLeft, right, rightLeft, heightRightLeft, heightRightRight);
+            }
+            
+            synchronized (rightLeft) {
+                heightRightLeft = rightLeft.height;
+                if (heightRightRight >= heightRightLeft) {
+                    return rotateLeft(parent, node, heightLeft, right, rightLeft, heightRightLeft, heightRightRight);
+                }
+                int heightRightLeftRight = height(rightLeft.right);
+                int balance = heightRightRight - heightRightLeftRight;
+                if (balance >= -1 && balance <= 1) {
+                    return rotateLeftOverRight(parent, node, heightLeft, right, rightLeft, heightRightRight, heightRightLeftRight);
+                }
+            }
+            return rebalanceToRight(node, right, rightLeft, heightRightRight);
+        }
+    }
+    
+    private Node<T> rotateRight(Node<T> parent, Node<T> node, Node<T> left, int heightRight,
+            int heightLeftLeft, Node<T> leftRight, int heightLeftRight) {
+        // I marked node as shrinking while it moves down, so readers passing it wait and retry.
+        long nodeVersion = node.version;
+        Node<T> parentLeft = parent.left;
+        
+        node.version = beginChange(nodeVersion);
+        
+        node.left = leftRight;
+        if (leftRight != null) {
+            leftRight.parent = node;
+        }
+        left.right = node;
+        node.parent = left;
+        if (parentLeft == node) {
+            parent.left = left;
+        } else {
+            parent.right = left;
+        }
+        left.parent = parent;
+        
+        int newHeightNode = 1 + Math.max(heightLeftRight, heightRight);
+        node.height = newHeightNode;
+        left.height = 1 + Math.max(heightLeftLeft, newHeightNode);
+        
+        node.version = endChange(nodeVersion);
+        
+        // I returned whichever node the rotation may have left damaged.
+        int balanceNode = heightLeftRight - heightRight;
+        if (balanceNode < -1 || balanceNode > 1) {
+            return node;
+        }
+        if ((leftRight == null || heightRight == 0) && node.value == null) {
+            return node;
+        }
+        int balanceLeft = heightLeftLeft - newHeightNode;
+        if (balanceLeft < -1 || balanceLeft > 1) {
+            return left;
+        }
+        if (heightLeftLeft == 0 && left.value == null) {
+            return left;
+        }
+        return fixHeight(parent);
+    }
+    
+    private Node<T> rotateLeft(Node<T> parent, Node<T> node, int heightLeft, Node<T> right,
+            Node<T> rightLeft, int heightRightLeft, int heightRightRight) {
+        long nodeVersion = node.version;
+        Node<T> parentLeft = parent.left;
+        
+        node.version = beginChange(nodeVersion);
+        
+        node.right = rightLeft;
+        if (rightLeft != null) {
+            rightLeft.parent = node;
+        }
+        right.left = node;
+        node.parent = right;
+        if (parentLeft == node) {
+            parent.left = right;
+        } else {
+            parent.right = right;
+        }
+        right.parent = parent;
+        
+        int newHeightNode = 1 + Math.max(heightLeft, heightRightLeft);
+        node.height = newHeightNode;
+        right.height = 1 + Math.max(newHeightNode, heightRightRight);
+        
+        node.version = endChange(nodeVersion);
+        
+        int balanceNode = heightRightLeft - heightLeft;
+        if (balanceNode < -1 || balanceNode > 1) {
+            return node;
+        }
+        if ((rightLeft == null || heightLeft == 0) && node.value == null) {
+            return node;
+        }
+        int balanceRight = heightRightRight - newHeightNode;
+        if (balanceRight < -1 || balanceRight > 1) {
+            return right;
+        }
+        if (heightRightRight == 0 && right.value == null) {
+            return right;
+        }
+        return fixHeight(parent);
+    }
+    
+    private Node<T> rotateRightOverLeft(Node<T> parent, Node<T> node, Node<T> left, int heightRight,
+            int heightLeftLeft, Node<T> leftRight, int heightLeftRightLeft) {
+        // I did the double rotation in one step; both node and left move down, so both shrink.
+        long nodeVersion = node.version;
+        long leftVersion = left.version;
+        Node<T> parentLeft = parent.left;
+        Node<T> leftRightLeft = leftRight.left;
+        Node<T> leftRightRight = leftRight.right;
+        int heightLeftRightRight = height(leftRightRight);
+        
+        node.version = beginChange(nodeVersion);
+        left.version = beginChange(leftVersion);
+        
+        node.left = leftRightRight;
+        if (leftRightRight != null) {
+            leftRightRight.parent = node;
+        }
+        left.right = leftRightLeft;
+        if (leftRightLeft != null) {
+            leftRightLeft.parent = left;
+        }
+        leftRight.left = left;
+        left.parent = leftRight;
+        leftRight.right = node;
+        node.parent = leftRight;
+        if (parentLeft == node) {
+            parent.left = leftRight;
+        } else {
+            parent.right = leftRight;
+        }
+        leftRight.parent = parent;
+        
+        int newHeightNode = 1 + Math.max(heightLeftRightRight, heightRight);
+        node.height = newHeightNode;
+        int newHeightLeft = 1 + Math.max(heightLeftLeft, heightLeftRightLeft);
+        left.height = newHeightLeft;
+        leftRight.height = 1 + Math.max(newHeightLeft, newHeightNode);
+        
+        node.version = endChange(nodeVersion);
+        left.version = endChange(leftVersion);
+        
+        int balanceNode = heightLeftRightRight - heightRight;
+        if (balanceNode < -1 || balanceNode > 1) {
+            return node;
+        }
+        if ((leftRightRight == null || heightRight == 0) && node.value == null) {
+            return node;
+        }
+        // I also returned left when it is now a routing node with a missing child, so it gets unlinked.
+        if ((heightLeftLeft == 0 || heightLeftRightLeft == 0) && left.value == null) {
+            return left;
+        }
+        int balanceLeftRight = newHeightLeft - newHeightNode;
+        if (balanceLeftRight < -1 || balanceLeftRight > 1) {
+            return leftRight;
+        }
+        return fixHeight(parent);
+    }
+    
+    private Node<T> rotateLeftOverRight(Node<T> parent, Node<T> node, int heightLeft, Node<T> right,
+            Node<T> rightLeft, int heightRightRight, int heightRightLeftRight) {
+        long nodeVersion = node.version;
+        long rightVersion = right.version;
+        Node<T> parentLeft = parent.left;
+        Node<T> rightLeftLeft = rightLeft.left;
+        Node<T> rightLeftRight = rightLeft.right;
+        int heightRightLeftLeft = height(rightLeftLeft);
+        
+        node.version = beginChange(nodeVersion);
+        right.version = beginChange(rightVersion);
+        
+        node.right = rightLeftLeft;
+        if (rightLeftLeft != null) {
+            rightLeftLeft.parent = node;
+        }
+        right.left = rightLeftRight;
+        if (rightLeftRight != null) {
+            rightLeftRight.parent = right;
+        }
+        rightLeft.right = right;
+        right.parent = rightLeft;
+        rightLeft.left = node;
+        node.parent = rightLeft;
+        if (parentLeft == node) {
+            parent.left = rightLeft;
+        } else {
+            parent.right = rightLeft;
+        }
+        rightLeft.parent = parent;
+        
+        int newHeightNode = 1 + Math.max(heightLeft, heightRightLeftLeft);
+        node.height = newHeightNode;
+        int newHeightRight = 1 + Math.max(heightRightLeftRight, heightRightRight);
+        right.height = newHeightRight;
+        rightLeft.height = 1 + Math.max(newHeightNode, newHeightRight);
+        
+        node.version = endChange(nodeVersion);
+        right.version = endChange(rightVersion);
+        
+        int balanceNode = heightRightLeftLeft - heightLeft;
+        if (balanceNode < -1 || balanceNode > 1) {
+            return node;
+        }
+        if ((rightLeftLeft == null || heightLeft == 0) && node.value == null) {
+            return node;
+        }
+        if ((heightRightRight == 0 || heightRightLeftRight == 0) && right.value == null) {
+            return right;
+        }
+        int balanceRightLeft = newHeightRight - newHeightNode;
+        if (balanceRightLeft < -1 || balanceRightLeft > 1) {
+            return rightLeft;
+        }
+        return fixHeight(parent);
+    }
+    
+    private static void waitUntilNotChanging(Node<?> node) {
+        long version = node.version;
+        if ((version & SHRINKING) != 0) {
+            for (int i = 0; i < SPIN_COUNT; i++) {
+                if (node.version != version) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+            // I blocked on the node's lock, which the rotating thread holds until it is done.
+            synchronized (node) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+    
+    private static boolean isShrinkingOrUnlinked(long version) {
+        return (version & (SHRINKING | UNLINKED)) != 0;
+    }
+    
+    private static boolean isUnlinked(long version) {
+        return (version & UNLINKED) != 0;
+    }
+    
+    private static long beginChange(long version) {
+        return version | SHRINKING;
+    }
+    
+    private static long endChange(long version) {
+        return (version | SHRINKING) + SHRINK_COUNT_INCREMENT - SHRINKING;
+    }
+    
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,231 @@
+package datastructures;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentHashTables<T> {
+    // I used 16 stripes by default, which is enough to keep a typical server's cores apart.
+    public static final int DEFAULT_STRIPES = 16;
+    
+    // I kept the same load factor as chaining mode in HashTables.
+    private static final double LOAD_FACTOR = 0.75;
+    
+    // I made the chain links volatile so contains can walk a chain without taking the lock.
+    private static class Node<T> {
+        final T data;
+        final int hash;
+        volatile Node<T> next;
+        
+        Node(T data, int hash, Node<T> next) {
+            this.data = data;
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+    
+    // I put this node in a bucket once its chain has been copied to the next table.
+    private static final class Forward<T> extends Node<T> {
+        final Table<T> target;
+        
+        Forward(Table<T> target) {
+            super(null, 0, null);
+            this.target = target;
+        }
+    }
+    
+    // I created this Table class so a resize can hang the next table off the current one.
+    private static final class Table<T> {
+        final AtomicReferenceArray<Node<T>> buckets;
+        final int stripeThreshold;
+        final Forward<T> forward;
+        final AtomicInteger migratedStripes = new AtomicInteger();
+        volatile Table<T> next;
+        
+        Table(int length, int stripes, Table<T> previous) {
+            buckets = new AtomicReferenceArray<>(length);
+            stripeThreshold = Math.max(1, (int) (length * LOAD_FACTOR / stripes));
+            forward = previous == null ? null : new Forward<>(this);
+        }
+    }
+    
+    private final ReentrantLock[] locks;
+    private final AtomicIntegerArray stripeSizes;
+    private final int stripeMask;
+    private volatile Table<T> table;
+    
+    public ConcurrentHashTables(int capacity) {
+        this(capacity, DEFAULT_STRIPES);
+    }
+    
+    public ConcurrentHashTables(int capacity, int stripes) {
+        if (stripes <= 0 || (stripes & (stripes - 1)) != 0) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripes);
+        }
+        
+        // I kept the table at least as long as the stripe count and a power of two, so bucket i
+        // always belongs to stripe i & (stripes - 1), before and after any resize.
+        int length = Math.max(stripes, Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1);
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        stripeSizes = new AtomicIntegerArray(stripes);
+        stripeMask = stripes - 1;
+        table = new Table<>(length, stripes, null);
+    }
+    
+    public void insert(T data) {
+        int hash = spread(data.hashCode());
+        int stripe = hash & stripeMask;
+        Table<T> full = null;
+        
+        locks[stripe].lock();
+        try {
+            Table<T> tab = tableForStripe(stripe);
+            int index = hash & (tab.buckets.length() - 1);
+            Node<T> head = tab.buckets.get(index);
+            
+            // I checked if the data already exists.
+            for (Node<T> current = head; current != null; current = current.next) {
+                if (current.hash == hash && current.data.equals(data)) {
+                    return;
+                }
+            }
+            
+            // I published the new node at the head of the chain with a volatile write.
+            tab.buckets.set(index, new Node<>(data, hash, head));
+            int stripeSize = stripeSizes.get(stripe) + 1;
+            stripeSizes.set(stripe, stripeSize);
+            if (stripeSize > tab.stripeThreshold) {
+                full = tab;
+            }
+        } finally {
+            locks[stripe].unlock();
+        }
+        
+        if (full != null) {
+            // I started the resize after releasing the lock so it can visit the stripes in order.
+            resize(full);
+        }
+    }
+    
+    public void delete(T data) {
+        int hash = spread(data.hashCode());
+        int stripe = hash & stripeMask;
+        
+        locks[stripe].lock();
+        try {
+            Table<T> tab = tableForStripe(stripe);
+            int index = hash & (tab.buckets.length() - 1);
+            Node<T> current = tab.buckets.get(index);
+            Node<T> previous = null;
+            
+            while (current != null && !(current.hash == hash && current.data.equals(data))) {
+                previous = current;
+                current = current.next;
+            }
+            if (current == null) {
+                return;
+            }
+            
+            // I only unlinked the node; a reader already standing on it still finds its next.
+            if (previous == null) {
+                tab.buckets.set(index, current.next);
+            } else {
+                previous.next = current.next;
+            }
+            stripeSizes.set(stripe, stripeSizes.get(stripe) - 1);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+    
+    public boolean contains(T data) {
+        // I never locked here: I followed forwarding nodes into the newer table and walked the chain.
+        int hash = spread(data.hashCode());
+        Table<T> tab = table;
+        Node<T> current;
+        while ((current = tab.buckets.get(hash & (tab.buckets.length() - 1))) instanceof Forward) {
+            tab = ((Forward<T>) current).target;
+        }
+        
+        for (; current != null; current = current.next) {
+            if (current.hash == hash && current.data.equals(data)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < stripeSizes.length(); i++) {
+            size += stripeSizes.get(i);
+        }
+        return size;
+    }
+    
+    private Table<T> tableForStripe(int stripe) {
+        // I found the newest table for this stripe. Its buckets only move while its lock is held,
+        // so checking the stripe's first bucket tells me whether all of them were copied.
+        Table<T> tab = table;
+        while (true) {
+            Node<T> first = tab.buckets.get(stripe);
+            if (first instanceof Forward) {
+                tab = ((Forward<T>) first).target;
+                continue;
+            }
+            Table<T> next = tab.next;
+            if (next == null) {
+                return tab;
+            }
+            // I helped the resize in progress by copying my own stripe before writing to it.
+            migrateStripe(tab, next, stripe);
+            tab = next;
+        }
+    }
+    
+    private void migrateStripe(Table<T> tab, Table<T> next, int stripe) {
+        int newMask = next.buckets.length() - 1;
+        for (int i = stripe; i < tab.buckets.length(); i += locks.length) {
+            // I copied the nodes instead of relinking them, so readers on the old chain are unaffected.
+            for (Node<T> current = tab.buckets.get(i); current != null; current = current.next) {
+                int index = current.hash & newMask;
+                next.buckets.set(index, new Node<>(current.data, current.hash, next.buckets.get(index)));
+            }
+            tab.buckets.set(i, next.forward);
+        }
+        
+        if (tab.migratedStripes.incrementAndGet() == locks.length) {
+            // I published the new table once the last stripe was copied.
+            table = next;
+        }
+    }
+    
+    private void resize(Table<T> full) {
+        synchronized (this) {
+            // I let only one thread start a resize, and only of the table that is still current.
+            if (table != full || full.next != null) {
+                return;
+            }
+            full.next = new Table<>(full.buckets.length() * 2, locks.length, full);
+        }
+        
+        // I walked every stripe so the resize finishes even if no other writer comes along.
+        for (int stripe = 0; stripe < locks.length; stripe++) {
+            locks[stripe].lock();
+            try {
+                tableForStripe(stripe);
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+    }
+    
+    private static int spread(int hashCode) {
+        // I mixed the high bits in because both the stripe and the bucket come from the low bits.
+        return (hashCode ^ (hashCode >>> 16)) & 0x7fffffff;
+    }
+}
@@ -1,12 +1,24 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.text.DecimalFormat;
 
+import org.HdrHistogram.Histogram;
+
 public class DataStructurePerformanceTest {
     private static final int[] DATA_SIZES = {1000, 10000, 100000};
     private static final int HASH_TABLE_INITIAL_CAPACITY = 16;
     private static final int CHAINING = 0;
     private static final int QUADRATIC_PROBING = 1;
     private static final Random RANDOM = new Random(42); // I made it the same seed in order to repeat the same test case but i can make it completely random as well
+    private static final int WARMUP_PASSES = 5;
+    private static final int LATENCY_SAMPLES = 200_000;
+    // this is how many operations per second the latency passes try to start, pick another with -Ddatastructures.latencyRate
+    private static final long LATENCY_RATE = Long.getLong("datastructures.latencyRate", 500_000);
     private static final DecimalFormat df = new DecimalFormat("0.000");
     
     public static void main(String[] args) {
@@ -15,7 +27,7 @@ public class DataStructurePerformanceTest {
         System.out.println("Data Structure\t\t\t1,000 Elements\t\t10,000 Elements\t\t100,000 Elements");
         System.out.println("----------------------------------------------------------------------------------------");
         
-        double[][] insertionTimes = new double[4][3];
+        double[][] insertionTimes = new double[5][3];
         
         // here i test avl insertion 
         for (int i = 0; i < DATA_SIZES.length; i++) {
@@ -27,14 +39,19 @@ public class DataStructurePerformanceTest {
             insertionTimes[1][i] = testSplayTreeInsertion(DATA_SIZES[i]);
         }
         
+        // and this is the b+ tree insertion
+        for (int i = 0; i < DATA_SIZES.length; i++) {
+            insertionTimes[2][i] = testBPlusTreeInsertion(DATA_SIZES[i]);
+        }
+        
         // and this is the hash table chainging version 
         for (int i = 0; i < DATA_SIZES.length; i++) {
-            insertionTimes[2][i] = testHashTableInsertion(DATA_SIZES[i], CHAINING);
+            insertionTimes[3][i] = testHashTableInsertion(DATA_SIZES[i], CHAINING);
         }
         
         // This is the hash table quadratic version
         for (int i = 0; i < DATA_SIZES.length; i++) {
-            insertionTimes[3][i] = testHashTableInsertion(DATA_SIZES[i], QUADRATIC_PROBING);
+            insertionTimes[4][i] = testHashTableInsertion(DATA_SIZES[i], QUADRATIC_PROBING);
         }
         
         // this just prints insertion 
@@ -42,10 +59,12 @@ public class DataStructurePerformanceTest {
                 df.format(insertionTimes[0][0]), df.format(insertionTimes[0][1]), df.format(insertionTimes[0][2]));
         System.out.printf("Splay Tree                    \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
                 df.format(insertionTimes[1][0]), df.format(insertionTimes[1][1]), df.format(insertionTimes[1][2]));
-        System.out.printf("Hash Table (Chaining)         \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
+        System.out.printf("B+ Tree                       \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
                 df.format(insertionTimes[2][0]), df.format(insertionTimes[2][1]), df.format(insertionTimes[2][2]));
-        System.out.printf("Hash Table (Quadratic Probing)\t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
+        System.out.printf("Hash Table (Chaining)         \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
                 df.format(insertionTimes[3][0]), df.format(insertionTimes[3][1]), df.format(insertionTimes[3][2]));
+        System.out.printf("Hash Table (Quadratic Probing)\t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
+                df.format(insertionTimes[4][0]), df.format(insertionTimes[4][1]), df.format(insertionTimes[4][2]));
         
         System.out.println("\n");
         
@@ -54,7 +73,7 @@ public class DataStructurePerformanceTest {
         System.out.println("Data Structure\t\t\t1,000 Elements\t\t10,000 Elements\t\t100,000 Elements");
         System.out.println("----------------------------------------------------------------------------------------");
         
-        double[][] searchTimes = new double[4][3];
+        double[][] searchTimes = new double[5][3];
         
         // this creates datasets for search operations
         Integer[][] datasets = new Integer[3][];
@@ -80,13 +99,22 @@ public class DataStructurePerformanceTest {
             searchTimes[1][i] = testSplayTreeSearch(splayTree, datasets[i]);
         }
         
+        // This test the b+ tree search
+        for (int i = 0; i < DATA_SIZES.length; i++) {
+            BPlusTree<Integer> bPlusTree = new BPlusTree<>();
+            for (Integer value : datasets[i]) {
+                bPlusTree.insert(value);
+            }
+            searchTimes[2][i] = testBPlusTreeSearch(bPlusTree, datasets[i]);
+        }
+        
         // This test the hash but the chaining search
         for (int i = 0; i < DATA_SIZES.length; i++) {
             HashTables<Integer> hashTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, CHAINING);
             for (Integer value : datasets[i]) {
                 hashTable.insert(value);
             }
-            searchTimes[2][i] = testHashTableSearch(hashTable, datasets[i]);
+            searchTimes[3][i] = testHashTableSearch(hashTable, datasets[i]);
         }
         
         // This test the hash quadratic search
@@ -95,7 +123,7 @@ public class DataStructurePerformanceTest {
             for (Integer value : datasets[i]) {
                 hashTable.insert(value);
             }
-            searchTimes[3][i] = testHashTableSearch(hashTable, datasets[i]);
+            searchTimes[4][i] = testHashTableSearch(hashTable, datasets[i]);
         }
         
         // Print search results
@@ -103,10 +131,12 @@ public class DataStructurePerformanceTest {
                 df.format(searchTimes[0][0]), df.format(searchTimes[0][1]), df.format(searchTimes[0][2]));
         System.out.printf("Splay Tree                    \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
                 df.format(searchTimes[1][0]), df.format(searchTimes[1][1]), df.format(searchTimes[1][2]));
-        System.out.printf("Hash Table (Chaining)         \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
+        System.out.printf("B+ Tree                       \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
                 df.format(searchTimes[2][0]), df.format(searchTimes[2][1]), df.format(searchTimes[2][2]));
-        System.out.printf("Hash Table (Quadratic Probing)\t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
+        System.out.printf("Hash Table (Chaining)         \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
                 df.format(searchTimes[3][0]), df.format(searchTimes[3][1]), df.format(searchTimes[3][2]));
+        System.out.printf("Hash Table (Quadratic Probing)\t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
+                df.format(searchTimes[4][0]), df.format(searchTimes[4][1]), df.format(searchTimes[4][2]));
         
         System.out.println("\n");
         
@@ -115,7 +145,7 @@ public class DataStructurePerformanceTest {
         System.out.println("Data Structure\t\t\t1,000 Elements\t\t10,000 Elements\t\t100,000 Elements");
         System.out.println("----------------------------------------------------------------------------------------");
         
-        double[][] deletionTimes = new double[4][3];
+        double[][] deletionTimes = new double[5][3];
         
         // This does the avl deletion
         for (int i = 0; i < DATA_SIZES.length; i++) {
@@ -135,13 +165,22 @@ public class DataStructurePerformanceTest {
             deletionTimes[1][i] = testSplayTreeDeletion(splayTree, datasets[i]);
         }
         
+        // This does the b+ tree deletion
+        for (int i = 0; i < DATA_SIZES.length; i++) {
+            BPlusTree<Integer> bPlusTree = new BPlusTree<>();
+            for (Integer value : datasets[i]) {
+                bPlusTree.insert(value);
+            }
+            deletionTimes[2][i] = testBPlusTreeDeletion(bPlusTree, datasets[i]);
+        }
+        
         // this does the hash chainging deleteion
         for (int i = 0; i < DATA_SIZES.length; i++) {
             HashTables<Integer> hashTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, CHAINING);
             for (Integer value : datasets[i]) {
                 hashTable.insert(value);
             }
-            deletionTimes[2][i] = testHashTableDeletion(hashTable, datasets[i]);
+            deletionTimes[3][i] = testHashTableDeletion(hashTable, datasets[i]);
         }
         
         // This does the probiing deletion 
@@ -150,7 +189,7 @@ public class DataStructurePerformanceTest {
             for (Integer value : datasets[i]) {
                 hashTable.insert(value);
             }
-            deletionTimes[3][i] = testHashTableDeletion(hashTable, datasets[i]);
+            deletionTimes[4][i] = testHashTableDeletion(hashTable, datasets[i]);
         }
         
         // Print deletion results
@@ -158,315 +197,222 @@ public class DataStructurePerformanceTest {
                 df.format(deletionTimes[0][0]), df.format(deletionTimes[0][1]), df.format(deletionTimes[0][2]));
         System.out.printf("Splay Tree                    \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
                 df.format(deletionTimes[1][0]), df.format(deletionTimes[1][1]), df.format(deletionTimes[1][2]));
-        System.out.printf("Hash Table (Chaining)         \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
+        System.out.printf("B+ Tree                       \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
                 df.format(deletionTimes[2][0]), df.format(deletionTimes[2][1]), df.format(deletionTimes[2][2]));
-        System.out.printf("Hash Table (Quadratic Probing)\t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
+        System.out.printf("Hash Table (Chaining)         \t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
                 df.format(deletionTimes[3][0]), df.format(deletionTimes[3][1]), df.format(deletionTimes[3][2]));
+        System.out.printf("Hash Table (Quadratic Probing)\t%s ms\t\t\t%s ms\t\t\t%s ms\t\t%n", 
+                df.format(deletionTimes[4][0]), df.format(deletionTimes[4][1]), df.format(deletionTimes[4][2]));
         
         System.out.println("\n");
         
-        // checks the memory ussage 
-        System.out.println("Memory Usage During Insertion (in KB)");
-        System.out.println("Data Structure\t\t\t1,000 Elements\t\t10,000 Elements\t\t100,000 Elements");
-        System.out.println("----------------------------------------------------------------------------------------");
-        
-        double[][] insertionMemory = new double[4][3];
-        
-        // this is the  memory usage for AVL Tree insertion
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            insertionMemory[0][i] = testAVLTreeInsertionMemory(DATA_SIZES[i]);
-        }
-        
-        // and this is the  memory usage for Splay Tree insertion
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            insertionMemory[1][i] = testSplayTreeInsertionMemory(DATA_SIZES[i]);
-        }
-        
-        // and this is the  memory usage for Hash Table with Chaining insertion
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            insertionMemory[2][i] = testHashTableInsertionMemory(DATA_SIZES[i], CHAINING);
-        }
-        
-        // and this is the  memory usage for Hash Table with Quadratic Probing insertion
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            insertionMemory[3][i] = testHashTableInsertionMemory(DATA_SIZES[i], QUADRATIC_PROBING);
-        }
-        
-        // Print insertion memory usage results
-        System.out.printf("AVL Tree                      \t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                insertionMemory[0][0], insertionMemory[0][1], insertionMemory[0][2]);
-        System.out.printf("Splay Tree                    \t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                insertionMemory[1][0], insertionMemory[1][1], insertionMemory[1][2]);
-        System.out.printf("Hash Table (Chaining)         \t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                insertionMemory[2][0], insertionMemory[2][1], insertionMemory[2][2]);
-        System.out.printf("Hash Table (Quadratic Probing)\t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                insertionMemory[3][0], insertionMemory[3][1], insertionMemory[3][2]);
-        
-        System.out.println("\n");
-        
-        // this is for the memory usage for search operations
-        System.out.println("Memory Usage During Search (in KB)");
+        // I measured memory by walking each structure with FootprintReporter instead of System.gc() deltas
+        System.out.printf("Memory Footprint After Insertion (in KB, %s references)%n",
+                FootprintReporter.compressedOops() ? "compressed 4-byte" : "8-byte");
         System.out.println("Data Structure\t\t\t1,000 Elements\t\t10,000 Elements\t\t100,000 Elements");
         System.out.println("----------------------------------------------------------------------------------------");
         
-        double[][] searchMemory = new double[4][3];
+        double[][] insertionMemory = new double[7][3];
+        double[][] bytesPerElement = new double[7][3];
+        double[][] deletionMemory = new double[7][3];
         
-        // this is for the memory usage for AVL Tree search
         for (int i = 0; i < DATA_SIZES.length; i++) {
+            // the datasets have duplicates so i divide by the number of distinct values
+            int elements = new HashSet<>(Arrays.asList(datasets[i])).size();
+            
             AVLTree<Integer> avlTree = new AVLTree<>();
-            for (Integer value : datasets[i]) {
-                avlTree.insert(value);
-            }
-            searchMemory[0][i] = testAVLTreeSearchMemory(avlTree, datasets[i]);
-        }
-        
-        // this is for the  memory usage for Splay Tree search
-        for (int i = 0; i < DATA_SIZES.length; i++) {
             SplayTree<Integer> splayTree = new SplayTree<>();
+            BPlusTree<Integer> bPlusTree = new BPlusTree<>();
+            HashTables<Integer> chainingTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, CHAINING);
+            HashTables<Integer> probingTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, QUADRATIC_PROBING);
+            HashTables<Integer> swissTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, HashTables.SWISS_TABLE);
+            HashTables<Integer> cuckooTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, HashTables.CUCKOO);
             for (Integer value : datasets[i]) {
+                avlTree.insert(value);
                 splayTree.insert(value);
+                bPlusTree.insert(value);
+                chainingTable.insert(value);
+                probingTable.insert(value);
+                swissTable.insert(value);
+                cuckooTable.insert(value);
             }
-            searchMemory[1][i] = testSplayTreeSearchMemory(splayTree, datasets[i]);
-        }
-        
-        // this is for the memory usage for Hash Table with Chaining search
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            HashTables<Integer> hashTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, CHAINING);
-            for (Integer value : datasets[i]) {
-                hashTable.insert(value);
+            
+            Object[] structures = {avlTree, splayTree, bPlusTree, chainingTable, probingTable, swissTable, cuckooTable};
+            for (int j = 0; j < structures.length; j++) {
+                long bytes = FootprintReporter.sizeOf(structures[j]);
+                insertionMemory[j][i] = bytes / 1024.0;
+                bytesPerElement[j][i] = (double) bytes / elements;
             }
-            searchMemory[2][i] = testHashTableSearchMemory(hashTable, datasets[i]);
-        }
-        
-        // this is for the memory usage for Hash Table with Quadratic Probing search
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            HashTables<Integer> hashTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, QUADRATIC_PROBING);
+            
+            // this is what is left after every value is deleted again
             for (Integer value : datasets[i]) {
-                hashTable.insert(value);
+                avlTree.delete(value);
+                splayTree.delete(value);
+                bPlusTree.delete(value);
+                chainingTable.delete(value);
+                probingTable.delete(value);
+                swissTable.delete(value);
+                cuckooTable.delete(value);
+            }
+            for (int j = 0; j < structures.length; j++) {
+                deletionMemory[j][i] = FootprintReporter.sizeOf(structures[j]) / 1024.0;
             }
-            searchMemory[3][i] = testHashTableSearchMemory(hashTable, datasets[i]);
         }
         
-        // Print search memory usage results
-        System.out.printf("AVL Tree                      \t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                searchMemory[0][0], searchMemory[0][1], searchMemory[0][2]);
-        System.out.printf("Splay Tree                    \t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                searchMemory[1][0], searchMemory[1][1], searchMemory[1][2]);
-        System.out.printf("Hash Table (Chaining)         \t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                searchMemory[2][0], searchMemory[2][1], searchMemory[2][2]);
-        System.out.printf("Hash Table (Quadratic Probing)\t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                searchMemory[3][0], searchMemory[3][1], searchMemory[3][2]);
+        printMemoryRows(insertionMemory, "KB");
         
         System.out.println("\n");
         
-        // this does the memory usage for deletion operations
-        System.out.println("Memory Usage During Deletion (in KB)");
+        System.out.println("Memory Footprint per Element (in bytes)");
         System.out.println("Data Structure\t\t\t1,000 Elements\t\t10,000 Elements\t\t100,000 Elements");
         System.out.println("----------------------------------------------------------------------------------------");
+        printMemoryRows(bytesPerElement, "B ");
         
-        double[][] deletionMemory = new double[4][3];
+        System.out.println("\n");
         
-        // this is for the memory usage for AVL Tree deletion
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            AVLTree<Integer> avlTree = new AVLTree<>();
-            for (Integer value : datasets[i]) {
-                avlTree.insert(value);
-            }
-            deletionMemory[0][i] = testAVLTreeDeletionMemory(avlTree, datasets[i]);
-        }
+        System.out.println("Memory Footprint After Deleting Every Element (in KB)");
+        System.out.println("Data Structure\t\t\t1,000 Elements\t\t10,000 Elements\t\t100,000 Elements");
+        System.out.println("----------------------------------------------------------------------------------------");
+        printMemoryRows(deletionMemory, "KB");
         
-        // this is for the memory usage for Splay Tree deletion
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            SplayTree<Integer> splayTree = new SplayTree<>();
-            for (Integer value : datasets[i]) {
-                splayTree.insert(value);
-            }
-            deletionMemory[1][i] = testSplayTreeDeletionMemory(splayTree, datasets[i]);
-        }
+        System.out.println("\n");
         
-        // this is the  memory usage for Hash Table with Chaining deletion
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            HashTables<Integer> hashTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, CHAINING);
-            for (Integer value : datasets[i]) {
-                hashTable.insert(value);
-            }
-            deletionMemory[2][i] = testHashTableDeletionMemory(hashTable, datasets[i]);
+        // this times every single operation instead of the whole loop so the slow ones show up
+        System.out.printf("Per-Operation Latency (in nanoseconds, %,d operations per second, from each intended start time)%n", LATENCY_RATE);
+        System.out.println("Data Structure\t\t\tOperation\tElements\tp50\t\tp99\t\tp99.9\t\tmax");
+        System.out.println("----------------------------------------------------------------------------------------------------------------");
+        for (int size : DATA_SIZES) {
+            Integer[] dataset = generateRandomDataset(size);
+            AVLTree<Integer> avlTree = new AVLTree<>();
+            printLatencyRows("AVL Tree                      ", size, dataset, avlTree::insert, avlTree::contains, avlTree::delete);
+            SplayTree<Integer> splayTree = new SplayTree<>();
+            printLatencyRows("Splay Tree                    ", size, dataset, splayTree::insert, splayTree::contains, splayTree::delete);
+            BPlusTree<Integer> bPlusTree = new BPlusTree<>();
+            printLatencyRows("B+ Tree                       ", size, dataset, bPlusTree::insert, bPlusTree::contains, bPlusTree::delete);
+            HashTables<Integer> chainingTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, CHAINING);
+            printLatencyRows("Hash Table (Chaining)         ", size, dataset, chainingTable::insert, chainingTable::contains, chainingTable::delete);
+            HashTables<Integer> probingTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, QUADRATIC_PROBING);
+            printLatencyRows("Hash Table (Quadratic Probing)", size, dataset, probingTable::insert, probingTable::contains, probingTable::delete);
+            HashTables<Integer> swissTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, HashTables.SWISS_TABLE);
+            printLatencyRows("Hash Table (Swiss Table)      ", size, dataset, swissTable::insert, swissTable::contains, swissTable::delete);
+            HashTables<Integer> cuckooTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, HashTables.CUCKOO);
+            printLatencyRows("Hash Table (Cuckoo)           ", size, dataset, cuckooTable::insert, cuckooTable::contains, cuckooTable::delete);
+            // the primitive sets unbox each key from the same dataset so every row times the same values
+            IntHashSet intHashSet = new IntHashSet(HASH_TABLE_INITIAL_CAPACITY);
+            printLatencyRows("IntHashSet                    ", size, dataset, intHashSet::insert, intHashSet::contains, intHashSet::delete);
+            LongHashSet longHashSet = new LongHashSet(HASH_TABLE_INITIAL_CAPACITY);
+            printLatencyRows("LongHashSet                   ", size, dataset, longHashSet::insert, longHashSet::contains, longHashSet::delete);
+            IntAVLTree intAVLTree = new IntAVLTree();
+            printLatencyRows("IntAVLTree                    ", size, dataset, intAVLTree::insert, intAVLTree::contains, intAVLTree::delete);
+            PersistentAVLTree<Integer> persistentAVLTree = new PersistentAVLTree<>();
+            printLatencyRows("PersistentAVLTree             ", size, dataset, persistentAVLTree::insert, persistentAVLTree::contains, persistentAVLTree::delete);
+            OffHeapLongHashSet offHeapSet = new OffHeapLongHashSet(HASH_TABLE_INITIAL_CAPACITY);
+            printLatencyRows("OffHeapLongHashSet            ", size, dataset, offHeapSet::insert, offHeapSet::contains, offHeapSet::delete);
+            offHeapSet.close();
+            // the concurrent ones run on this one thread too, so these rows show what their locks and cas cost
+            ConcurrentHashTables<Integer> stripedTable = new ConcurrentHashTables<>(HASH_TABLE_INITIAL_CAPACITY);
+            printLatencyRows("ConcurrentHashTables          ", size, dataset, stripedTable::insert, stripedTable::contains, stripedTable::delete);
+            LockFreeHashTables<Integer> lockFreeTable = new LockFreeHashTables<>(HASH_TABLE_INITIAL_CAPACITY);
+            printLatencyRows("LockFreeHashTables            ", size, dataset, lockFreeTable::insert, lockFreeTable::contains, lockFreeTable::delete);
+            ConcurrentAVLTree<Integer> concurrentAVLTree = new ConcurrentAVLTree<>();
+            printLatencyRows("ConcurrentAVLTree             ", size, dataset, concurrentAVLTree::insert, concurrentAVLTree::contains, concurrentAVLTree::delete);
+            // the eytzinger tree cannot change after it is built so it only gets a search row
+            Integer[] sorted = dataset.clone();
+            Arrays.sort(sorted);
+            EytzingerTree<Integer> eytzingerTree = EytzingerTree.fromSorted(sorted);
+            printSearchLatencyRow("EytzingerTree                 ", size, dataset, eytzingerTree::contains);
+        }
+        
+        // this prints the operation counters when the jvm was started with -Ddatastructures.counters=true
+        if (OperationCounter.ENABLED) {
+            System.out.println("\n");
+            System.out.println("Operation Counters (every run above, averages per operation)");
+            System.out.println("----------------------------------------------------------------------------------------");
+            System.out.print(OperationCounter.report());
         }
-        
-        // this is the memory usage for Hash Table with Quadratic Probing deletion
-        for (int i = 0; i < DATA_SIZES.length; i++) {
-            HashTables<Integer> hashTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, QUADRATIC_PROBING);
-            for (Integer value : datasets[i]) {
-                hashTable.insert(value);
-            }
-            deletionMemory[3][i] = testHashTableDeletionMemory(hashTable, datasets[i]);
-        }
-        
-        // Print deletion memory usage results
-        System.out.printf("AVL Tree                      \t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                deletionMemory[0][0], deletionMemory[0][1], deletionMemory[0][2]);
-        System.out.printf("Splay Tree                    \t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                deletionMemory[1][0], deletionMemory[1][1], deletionMemory[1][2]);
-        System.out.printf("Hash Table (Chaining)         \t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                deletionMemory[2][0], deletionMemory[2][1], deletionMemory[2][2]);
-        System.out.printf("Hash Table (Quadratic Probing)\t%.2f KB\t\t\t%.2f KB\t\t\t%.2f KB\t\t%n", 
-                deletionMemory[3][0], deletionMemory[3][1], deletionMemory[3][2]);
     }
     
-    // this is for the memory   methods for insertion operations
-    private static double testAVLTreeInsertionMemory(int size) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // this asks garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        AVLTree<Integer> avlTree = new AVLTree<>();
-        Integer[] dataset = generateRandomDataset(size);
-        for (Integer value : dataset) {
-            avlTree.insert(value);
-        }
-        
-        System.gc(); // this asks garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this converts  to KB
+    // this prints one row per structure for a memory table
+    private static void printMemoryRows(double[][] memory, String unit) {
+        System.out.printf("AVL Tree                      \t%.2f %s\t\t\t%.2f %s\t\t\t%.2f %s\t\t%n", 
+                memory[0][0], unit, memory[0][1], unit, memory[0][2], unit);
+        System.out.printf("Splay Tree                    \t%.2f %s\t\t\t%.2f %s\t\t\t%.2f %s\t\t%n", 
+                memory[1][0], unit, memory[1][1], unit, memory[1][2], unit);
+        System.out.printf("B+ Tree                       \t%.2f %s\t\t\t%.2f %s\t\t\t%.2f %s\t\t%n", 
+                memory[2][0], unit, memory[2][1], unit, memory[2][2], unit);
+        System.out.printf("Hash Table (Chaining)         \t%.2f %s\t\t\t%.2f %s\t\t\t%.2f %s\t\t%n", 
+                memory[3][0], unit, memory[3][1], unit, memory[3][2], unit);
+        System.out.printf("Hash Table (Quadratic Probing)\t%.2f %s\t\t\t%.2f %s\t\t\t%.2f %s\t\t%n", 
+                memory[4][0], unit, memory[4][1], unit, memory[4][2], unit);
+        System.out.printf("Hash Table (Swiss Table)      \t%.2f %s\t\t\t%.2f %s\t\t\t%.2f %s\t\t%n", 
+                memory[5][0], unit, memory[5][1], unit, memory[5][2], unit);
+        System.out.printf("Hash Table (Cuckoo)           \t%.2f %s\t\t\t%.2f %s\t\t\t%.2f %s\t\t%n", 
+                memory[6][0], unit, memory[6][1], unit, memory[6][2], unit);
     }
     
-    private static double testSplayTreeInsertionMemory(int size) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // this again asks for garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        SplayTree<Integer> splayTree = new SplayTree<>();
-        Integer[] dataset = generateRandomDataset(size);
-        for (Integer value : dataset) {
-            splayTree.insert(value);
+    // this records how long each insert, search and delete took and prints the percentiles
+    private static void printLatencyRows(String name, int size, Integer[] dataset, Consumer<Integer> insert,
+            Predicate<Integer> contains, Consumer<Integer> delete) {
+        // 3 significant digits, and the histogram grows to fit whatever the slowest operation took
+        Histogram[] histograms = {new Histogram(3), new Histogram(3), new Histogram(3)};
+        Runnable passes = () -> {
+            recordLatencies(histograms[0], dataset, insert::accept);
+            recordLatencies(histograms[1], dataset, contains::test);
+            recordLatencies(histograms[2], dataset, delete::accept);
+        };
+        recordPasses(histograms, size, passes);
+        String[] operations = {"insert", "search", "delete"};
+        for (int i = 0; i < histograms.length; i++) {
+            printLatencyRow(name, operations[i], size, histograms[i]);
         }
-        
-        System.gc(); // you get at this point, this also ask for the  garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this converts  to KB
     }
     
-    private static double testHashTableInsertionMemory(int size, int collisionMethod) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // this creates a  garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        HashTables<Integer> hashTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, collisionMethod);
-        Integer[] dataset = generateRandomDataset(size);
-        for (Integer value : dataset) {
-            hashTable.insert(value);
-        }
-        
-        System.gc(); // this does the same: garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this makes it into  KB
+    // this is the same for a structure that only answers lookups
+    private static void printSearchLatencyRow(String name, int size, Integer[] dataset, Predicate<Integer> contains) {
+        Histogram[] histograms = {new Histogram(3)};
+        recordPasses(histograms, size, () -> recordLatencies(histograms[0], dataset, contains::test));
+        printLatencyRow(name, "search", size, histograms[0]);
     }
     
-    // Memory measurement methods for search operations
-    private static double testAVLTreeSearchMemory(AVLTree<Integer> avlTree, Integer[] dataset) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // this creates a garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        for (Integer value : dataset) {
-            avlTree.contains(value);
+    private static void recordPasses(Histogram[] histograms, int size, Runnable passes) {
+        // i went through everything a few times first so the jit is done compiling, otherwise max is just compile time
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            passes.run();
         }
-        
-        System.gc(); // this creates a garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this is made into to KB
-    }
-    
-    private static double testSplayTreeSearchMemory(SplayTree<Integer> splayTree, Integer[] dataset) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // this creates garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        for (Integer value : dataset) {
-            splayTree.contains(value);
+        for (Histogram histogram : histograms) {
+            histogram.reset();
         }
-        
-        System.gc(); // again this creates a  garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this makes it into to KB
-    }
-    
-    private static double testHashTableSearchMemory(HashTables<Integer> hashTable, Integer[] dataset) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // creates a  garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        for (Integer value : dataset) {
-            hashTable.contains(value);
+        System.gc();
+        // the small sizes get more passes so one hiccup from the os does not take up the whole run
+        for (int pass = 0; pass < Math.max(1, LATENCY_SAMPLES / size); pass++) {
+            passes.run();
         }
-        
-        System.gc(); // again asks garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // changes it into  to KB
     }
     
-    // these are the   methods for deletion operations
-    private static double testAVLTreeDeletionMemory(AVLTree<Integer> avlTree, Integer[] dataset) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // this creates garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        for (Integer value : dataset) {
-            avlTree.delete(value);
-        }
-        
-        System.gc(); // again makes garabage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this converts  to KB
+    private static void printLatencyRow(String name, String operation, int size, Histogram histogram) {
+        System.out.printf("%s\t%s\t\t%,d\t\t%,d\t\t%,d\t\t%,d\t\t%,d%n", name, operation, size,
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
     }
     
-    private static double testSplayTreeDeletionMemory(SplayTree<Integer> splayTree, Integer[] dataset) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // asks garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        for (Integer value : dataset) {
-            splayTree.delete(value);
+    private static void recordLatencies(Histogram histogram, Integer[] dataset, Consumer<Integer> operation) {
+        // each operation has a start time fixed by the rate, not by when the one before it finished.
+        // the time is measured from there, so when something stalls, the operations that should
+        // have started during the stall count the wait too (this is the coordinated omission fix)
+        long interval = 1_000_000_000L / LATENCY_RATE;
+        long start = System.nanoTime();
+        for (int i = 0; i < dataset.length; i++) {
+            long intendedStart = start + i * interval;
+            while (System.nanoTime() < intendedStart) {
+                Thread.onSpinWait();
+            }
+            operation.accept(dataset[i]);
+            histogram.recordValue(System.nanoTime() - intendedStart);
         }
-        
-        System.gc(); // asks garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this converts to KB
     }
     
-    private static double testHashTableDeletionMemory(HashTables<Integer> hashTable, Integer[] dataset) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // asks garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        for (Integer value : dataset) {
-            hashTable.delete(value);
-        }
-        
-        System.gc(); // asks garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this converts to KB
-    }
     // this helps in testing teh different methods 
-
+    
     private static Integer[] generateRandomDataset(int size) {
         Integer[] dataset = new Integer[size];
         for (int i = 0; i < size; i++) {
@@ -510,22 +456,6 @@ public class DataStructurePerformanceTest {
         return (endTime - startTime) / 1_000_000.0; // this converts  to milliseconds
     }
     
-    private static double testAVLTreeMemory(Integer[] dataset) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // asks garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        AVLTree<Integer> avlTree = new AVLTree<>();
-        for (Integer value : dataset) {
-            avlTree.insert(value);
-        }
-        
-        System.gc(); // asks garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this converts  to KB
-    }
     
     // this is for  Splay Tree testing 
     
@@ -562,23 +492,43 @@ public class DataStructurePerformanceTest {
         return (endTime - startTime) / 1_000_000.0; // this Convert to milliseconds
     }
     
-    private static double testSplayTreeMemory(Integer[] dataset) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // asks garbage collection
+    
+    // this is for B+ tree testing
+    
+    private static double testBPlusTreeInsertion(int size) {
+        BPlusTree<Integer> bPlusTree = new BPlusTree<>();
+        Integer[] dataset = generateRandomDataset(size);
         
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+        for (Integer value : dataset) {
+            bPlusTree.insert(value);
+        }
+        long endTime = System.nanoTime();
         
-        SplayTree<Integer> splayTree = new SplayTree<>();
+        return (endTime - startTime) / 1_000_000.0; // this converts to milliseconds
+    }
+    
+    private static double testBPlusTreeSearch(BPlusTree<Integer> bPlusTree, Integer[] dataset) {
+        long startTime = System.nanoTime();
         for (Integer value : dataset) {
-            splayTree.insert(value);
+            bPlusTree.contains(value);
         }
+        long endTime = System.nanoTime();
         
-        System.gc(); // asks garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
+        return (endTime - startTime) / 1_000_000.0; // this converts to milliseconds
+    }
+    
+    private static double testBPlusTreeDeletion(BPlusTree<Integer> bPlusTree, Integer[] dataset) {
+        long startTime = System.nanoTime();
+        for (Integer value : dataset) {
+            bPlusTree.delete(value);
+        }
+        long endTime = System.nanoTime();
         
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // this is made to to KB
+        return (endTime - startTime) / 1_000_000.0; // this converts to milliseconds
     }
     
+    
     // tests the hash tables
     
     private static double testHashTableInsertion(int size, int collisionMethod) {
@@ -614,20 +564,4 @@ public class DataStructurePerformanceTest {
         return (endTime - startTime) / 1_000_000.0; // this one is for converting to miliseconds
     }
     
-    private static double testHashTableMemory(Integer[] dataset, int collisionMethod) {
-        Runtime runtime = Runtime.getRuntime();
-        System.gc(); // Request garbage collection
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        HashTables<Integer> hashTable = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, collisionMethod);
-        for (Integer value : dataset) {
-            hashTable.insert(value);
-        }
-        
-        System.gc(); // Request garbage collection
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        return Math.max(0, afterMemory - beforeMemory) / 1024.0; // I converted here to kb
-    }
 }
@@ -0,0 +1,44 @@
+package datastructures;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+// I kept releasing direct and mapped buffers in one place. JDK 17 has no public way to free a
+// direct buffer's native memory or unmap a file before the buffer is collected, and a structure
+// that keeps the heap small may go a long time without a collection. I looked the cleaner up by
+// name at run time, so nothing here depends on an internal class at compile time.
+final class DirectBuffers {
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+    
+    private DirectBuffers() {
+    }
+    
+    static void free(ByteBuffer buffer) {
+        // The buffer must not be used again; reading it afterwards can crash the JVM.
+        // I left the buffer to the collector when the JDK did not offer a cleaner.
+        if (INVOKE_CLEANER == null || buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not free buffer", e);
+        }
+    }
+    
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package datastructures;
+
+public final class EytzingerTree<T extends Comparable<T>> {
+    // I stored the keys in one array in breadth-first order, starting at index 1: the children of
+    // slot k are at 2k and 2k + 1. A search reads one slot per level, the first levels share a few
+    // cache lines that stay hot, and there are no node objects or child pointers to chase.
+    private final Object[] keys;
+    private final int size;
+    
+    private EytzingerTree(Object[] keys, int size) {
+        this.keys = keys;
+        this.size = size;
+    }
+    
+    public static <T extends Comparable<T>> EytzingerTree<T> fromSorted(T[] sortedData) {
+        // I laid out sorted keys in one in-order walk over the implicit tree, dropping duplicates.
+        Object[] distinct = new Object[sortedData.length];
+        int count = 0;
+        for (int i = 0; i < sortedData.length; i++) {
+            if (i > 0) {
+                int compareResult = sortedData[i - 1].compareTo(sortedData[i]);
+                if (compareResult > 0) {
+                    throw new IllegalArgumentException("Data is not sorted at index " + i);
+                } else if (compareResult == 0) {
+                    continue;
+                }
+            }
+            distinct[count++] = sortedData[i];
+        }
+        return fromDistinctSorted(distinct, count);
+    }
+    
+    static <T extends Comparable<T>> EytzingerTree<T> fromDistinctSorted(Object[] sortedKeys, int count) {
+        Object[] keys = new Object[count + 1];
+        place(sortedKeys, keys, 1, 0);
+        return new EytzingerTree<>(keys, count);
+    }
+    
+    private static int place(Object[] sortedKeys, Object[] keys, int slot, int next) {
+        // I filled the left subtree, then slot, then the right subtree, so slots get keys in order.
+        if (slot < keys.length) {
+            next = place(sortedKeys, keys, 2 * slot, next);
+            keys[slot] = sortedKeys[next++];
+            next = place(sortedKeys, keys, 2 * slot + 1, next);
+        }
+        return next;
+    }
+    
+    public boolean contains(T data) {
+        int slot = lowerBoundSlot(data);
+        return slot != 0 && data.compareTo(key(slot)) == 0;
+    }
+    
+    public T lowerBound(T data) {
+        // I returned the smallest key that is not less than data, or null if there is none.
+        int slot = lowerBoundSlot(data);
+        return slot == 0 ? null : key(slot);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private int lowerBoundSlot(T data) {
+        // I descended without leaving the loop early, so the only branch is the loop test and the
+        // comparison turns into an index update. Going right appends a 1 bit to the slot number.
+        int slot = 1;
+        int length = keys.length;
+        while (slot < length) {
+            slot = 2 * slot + (key(slot).compareTo(data) < 0 ? 1 : 0);
+        }
+        // I undid the trailing right turns plus the last left turn; that left turn happened at
+        // the smallest key not less than data. A slot of 0 means every turn went right.
+        return slot >>> (Integer.numberOfTrailingZeros(~slot) + 1);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private T key(int slot) {
+        return (T) keys[slot];
+    }
+}
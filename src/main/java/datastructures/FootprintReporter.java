@@ -0,0 +1,170 @@
+package datastructures;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+// I wrote this reporter to replace the System.gc() deltas in DataStructurePerformanceTest. It walks
+// an object graph and adds up the size each object takes on a HotSpot heap, so the result is the
+// same on every run and does not depend on when the collector happens to run.
+public class FootprintReporter {
+    private static final boolean COMPRESSED_OOPS = vmFlag("UseCompressedOops", "true").equals("true");
+    private static final boolean COMPRESSED_CLASS_POINTERS = vmFlag("UseCompressedClassPointers", "true").equals("true");
+    private static final int OBJECT_ALIGNMENT = Integer.parseInt(vmFlag("ObjectAlignmentInBytes", "8"));
+    
+    // I used the 8-byte mark word plus a 4- or 8-byte class pointer for the object header.
+    private static final int OBJECT_HEADER = COMPRESSED_CLASS_POINTERS ? 12 : 16;
+    // I added the 4-byte length for arrays; without compressed class pointers the elements start on the next word.
+    private static final int ARRAY_HEADER = COMPRESSED_CLASS_POINTERS ? 16 : 24;
+    private static final int REFERENCE_SIZE = COMPRESSED_OOPS ? 4 : 8;
+    
+    // I cached the instance fields of each class so a graph of a million nodes is reflected on once.
+    private static final Map<Class<?>, Field[]> REFERENCE_FIELDS = new IdentityHashMap<>();
+    private static final Map<Class<?>, Long> SHALLOW_SIZES = new IdentityHashMap<>();
+    
+    private FootprintReporter() {
+    }
+    
+    public static boolean compressedOops() {
+        return COMPRESSED_OOPS;
+    }
+    
+    public static int referenceSize() {
+        return REFERENCE_SIZE;
+    }
+    
+    // I returned the bytes taken by root and everything reachable from it, counting shared objects once.
+    public static long sizeOf(Object root) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayDeque<Object> pending = new ArrayDeque<>();
+        long total = 0;
+        
+        if (root != null) {
+            pending.push(root);
+            visited.add(root);
+        }
+        while (!pending.isEmpty()) {
+            Object current = pending.pop();
+            Class<?> type = current.getClass();
+            
+            if (type.isArray()) {
+                int length = Array.getLength(current);
+                Class<?> component = type.getComponentType();
+                total += align(ARRAY_HEADER + (long) length * sizeOfType(component));
+                if (!component.isPrimitive()) {
+                    for (Object element : (Object[]) current) {
+                        if (element != null && visited.add(element)) {
+                            pending.push(element);
+                        }
+                    }
+                }
+                continue;
+            }
+            
+            total += shallowSize(type);
+            for (Field field : referenceFields(type)) {
+                Object value;
+                try {
+                    value = field.get(current);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot read " + field, e);
+                }
+                if (value != null && visited.add(value)) {
+                    pending.push(value);
+                }
+            }
+        }
+        return total;
+    }
+    
+    // I divided by the element count so structures of different sizes can be compared directly.
+    public static double bytesPerElement(Object root, int elements) {
+        return elements == 0 ? 0 : (double) sizeOf(root) / elements;
+    }
+    
+    private static long shallowSize(Class<?> type) {
+        Long cached = SHALLOW_SIZES.get(type);
+        if (cached != null) {
+            return cached;
+        }
+        
+        // I summed every instance field up the hierarchy. HotSpot has packed fields into gaps since
+        // JDK 15, so only the total is rounded up to the object alignment.
+        long size = OBJECT_HEADER;
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    size += sizeOfType(field.getType());
+                }
+            }
+        }
+        size = align(size);
+        SHALLOW_SIZES.put(type, size);
+        return size;
+    }
+    
+    private static Field[] referenceFields(Class<?> type) {
+        Field[] cached = REFERENCE_FIELDS.get(type);
+        if (cached != null) {
+            return cached;
+        }
+        
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                    continue;
+                }
+                // I still counted JDK objects such as Integer or AtomicInteger, but I could not follow
+                // their reference fields because java.base is closed to reflection.
+                try {
+                    field.setAccessible(true);
+                    fields.add(field);
+                } catch (InaccessibleObjectException e) {
+                    // I left the field out of the walk.
+                }
+            }
+        }
+        cached = fields.toArray(new Field[0]);
+        REFERENCE_FIELDS.put(type, cached);
+        return cached;
+    }
+    
+    private static int sizeOfType(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE_SIZE;
+    }
+    
+    private static long align(long size) {
+        return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+    
+    private static String vmFlag(String name, String fallback) {
+        // I asked HotSpot for the real setting and fell back to the 64-bit defaults on other VMs.
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return bean.getVMOption(name).getValue();
+        } catch (RuntimeException | LinkageError e) {
+            return fallback;
+        }
+    }
+}
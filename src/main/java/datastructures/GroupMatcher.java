@@ -0,0 +1,31 @@
+package datastructures;
+
+// I pulled the 16-byte control group comparisons out so HashTables can use either the
+// Vector API or plain long arithmetic on the same control array.
+interface GroupMatcher {
+    int GROUP_SIZE = 16;
+    
+    // I returned the slots whose control byte equals the 7-bit fingerprint, bit i for slot offset + i.
+    int match(byte[] control, int offset, byte fingerprint);
+    
+    // I reported whether any slot of the group has never held a key.
+    boolean hasEmpty(byte[] control, int offset);
+    
+    // I returned the first slot in the group an insert may reuse, or -1 if every slot is full.
+    int firstEmptyOrDeleted(byte[] control, int offset);
+    
+    static GroupMatcher select() {
+        // I only tried the Vector API when the JVM was started with --add-modules jdk.incubator.vector,
+        // and -Ddatastructures.swar=true forces the fallback so both can be measured.
+        if (!Boolean.getBoolean("datastructures.swar")
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (GroupMatcher) Class.forName("datastructures.VectorGroupMatcher")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // I fell back to SWAR if the incubator module could not be linked.
+            }
+        }
+        return new SwarGroupMatcher();
+    }
+}
@@ -0,0 +1,217 @@
+package datastructures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// I mapped a quadratic probing table written by HashTables.writeSnapshot straight from the file.
+// Lookups probe the mapped pages with the same hash and probe sequence as HashTables, so a
+// restart needs no reinserting and no resizing, and only the pages a lookup touches are read.
+public final class HashTableSnapshot<T> implements AutoCloseable {
+    // I fixed the layout in little-endian order:
+    //   magic, version, key width (4 or 8), capacity, size, padding   (ints)
+    //   load factor                                                    (double)
+    //   one state byte per slot, then zeros up to an 8-byte boundary
+    //   one key per slot, 4 or 8 bytes wide, 0 where the slot holds no key
+    private static final int MAGIC = 0x48545150;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    
+    // I mapped the keys in chunks of 2^27 slots, since one mapping is limited to 2 GB.
+    private static final int CHUNK_SHIFT = 27;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+    
+    private final int keyWidth;
+    private final int capacity;
+    private final int size;
+    private final double loadFactor;
+    private ByteBuffer states;
+    private ByteBuffer[] keys;
+    
+    private HashTableSnapshot(int keyWidth, int capacity, int size, double loadFactor, ByteBuffer states, ByteBuffer[] keys) {
+        this.keyWidth = keyWidth;
+        this.capacity = capacity;
+        this.size = size;
+        this.loadFactor = loadFactor;
+        this.states = states;
+        this.keys = keys;
+    }
+    
+    public static <T> HashTableSnapshot<T> open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // I kept reading until the header was complete or the file ended.
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not a HashTables snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            int keyWidth = header.getInt();
+            int capacity = header.getInt();
+            int size = header.getInt();
+            header.getInt();
+            double loadFactor = header.getDouble();
+            if ((keyWidth != Integer.BYTES && keyWidth != Long.BYTES) || capacity <= 0
+                    || channel.size() < keysOffset(capacity) + (long) capacity * keyWidth) {
+                throw new IOException("Corrupt HashTables snapshot: " + file);
+            }
+            
+            // I mapped read-only. The mappings stay valid after the channel is closed.
+            ByteBuffer states = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, capacity);
+            int chunkCount = (int) (((long) capacity + CHUNK_MASK) >>> CHUNK_SHIFT);
+            ByteBuffer[] keys = new ByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long first = (long) i << CHUNK_SHIFT;
+                long slots = Math.min(capacity - first, 1L << CHUNK_SHIFT);
+                keys[i] = channel.map(FileChannel.MapMode.READ_ONLY, keysOffset(capacity) + first * keyWidth, slots * keyWidth)
+                        .order(ORDER);
+            }
+            return new HashTableSnapshot<>(keyWidth, capacity, size, loadFactor, states, keys);
+        }
+    }
+    
+    public boolean contains(T data) {
+        ensureOpen();
+        // I only matched keys of the type the table was written with, as equals would in HashTables.
+        if (keyWidth == Integer.BYTES ? !(data instanceof Integer) : !(data instanceof Long)) {
+            return false;
+        }
+        long key = ((Number) data).longValue();
+        
+        // I followed the probe sequence of HashTables.findIndexQuadratic over the mapped slots.
+        int index = (data.hashCode() & 0x7fffffff) % capacity;
+        int i = 1;
+        
+        byte state;
+        while ((state = states.get(index)) != HashTables.EMPTY) {
+            if (state == HashTables.OCCUPIED && keyAt(index) == key) {
+                return true;
+            }
+            index = (index + i) % capacity;
+            i++;
+            if (i >= capacity) {
+                break;
+            }
+        }
+        return false;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    @SuppressWarnings("unchecked") // I suppressed this because the keys are boxed back to the type they were written as.
+    public HashTables<T> toHashTables() {
+        // I copied the slots into heap arrays in place, so the restored table accepts writes
+        // without a single key being rehashed.
+        ensureOpen();
+        byte[] stateArray = new byte[capacity];
+        states.get(0, stateArray);
+        Object[] keyArray = new Object[capacity];
+        for (int slot = 0; slot < capacity; slot++) {
+            if (stateArray[slot] == HashTables.OCCUPIED) {
+                // I boxed in two branches; a conditional expression would promote both to Long.
+                if (keyWidth == Integer.BYTES) {
+                    keyArray[slot] = (int) keyAt(slot);
+                } else {
+                    keyArray[slot] = keyAt(slot);
+                }
+            }
+        }
+        return new HashTables<>(keyArray, stateArray, size, loadFactor);
+    }
+    
+    @Override
+    public void close() {
+        // I unmapped the file now instead of waiting for the buffers to be collected.
+        if (keys != null) {
+            for (ByteBuffer chunk : keys) {
+                DirectBuffers.free(chunk);
+            }
+            DirectBuffers.free(states);
+            keys = null;
+            states = null;
+        }
+    }
+    
+    static void write(Path file, Object[] quadKeys, byte[] quadStates, int size, double loadFactor) throws IOException {
+        int capacity = quadKeys.length;
+        int keyWidth = keyWidth(quadKeys, quadStates);
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+            header.putInt(MAGIC).putInt(VERSION).putInt(keyWidth).putInt(capacity).putInt(size).putInt(0)
+                    .putDouble(loadFactor).flip();
+            writeFully(channel, header);
+            writeFully(channel, ByteBuffer.wrap(quadStates));
+            writeFully(channel, ByteBuffer.allocate((int) (keysOffset(capacity) - HEADER_BYTES - capacity)));
+            
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ORDER);
+            for (int slot = 0; slot < capacity; slot++) {
+                if (buffer.remaining() < keyWidth) {
+                    buffer.flip();
+                    writeFully(channel, buffer);
+                    buffer.clear();
+                }
+                long key = quadStates[slot] == HashTables.OCCUPIED ? ((Number) quadKeys[slot]).longValue() : 0;
+                if (keyWidth == Integer.BYTES) {
+                    buffer.putInt((int) key);
+                } else {
+                    buffer.putLong(key);
+                }
+            }
+            buffer.flip();
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+    }
+    
+    private static int keyWidth(Object[] quadKeys, byte[] quadStates) {
+        // I stored Integer keys in 4 bytes and Long keys in 8; any other key type has no stable layout.
+        Class<?> type = null;
+        for (int slot = 0; slot < quadKeys.length; slot++) {
+            if (quadStates[slot] == HashTables.OCCUPIED) {
+                Class<?> keyType = quadKeys[slot].getClass();
+                if ((keyType != Integer.class && keyType != Long.class) || (type != null && type != keyType)) {
+                    throw new IllegalArgumentException("Only all-Integer or all-Long keys can be snapshotted: " + keyType.getName());
+                }
+                type = keyType;
+            }
+        }
+        return type == Integer.class ? Integer.BYTES : Long.BYTES;
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    private static long keysOffset(int capacity) {
+        return (HEADER_BYTES + (long) capacity + 7) & ~7L;
+    }
+    
+    private long keyAt(int slot) {
+        ByteBuffer chunk = keys[slot >>> CHUNK_SHIFT];
+        int offset = (slot & CHUNK_MASK) * keyWidth;
+        return keyWidth == Integer.BYTES ? chunk.getInt(offset) : chunk.getLong(offset);
+    }
+    
+    private void ensureOpen() {
+        if (keys == null) {
+            throw new IllegalStateException("HashTableSnapshot is closed");
+        }
+    }
+}
@@ -0,0 +1,873 @@
+package datastructures;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class HashTables<T> {
+    // I defined these collision resolution methods.
+    public static final int CHAINING = 0;
+    public static final int QUADRATIC_PROBING = 1;
+    public static final int SWISS_TABLE = 2;
+    public static final int CUCKOO = 3;
+    
+    // I grow a chaining table once it holds more than three elements per four buckets.
+    public static final double DEFAULT_LOAD_FACTOR = 0.75;
+    
+    // I capped quadratic probing at half full because probe sequences get long past that.
+    private static final double MAX_PROBING_LOAD_FACTOR = 0.5;
+    
+    // I let the swiss table fill up to seven eighths because a probe checks 16 slots at once.
+    private static final double MAX_SWISS_LOAD_FACTOR = 0.875;
+    
+    // I let the cuckoo table fill to nine tenths. With two buckets of four slots per key,
+    // placements only start failing at about 95% full.
+    private static final double MAX_CUCKOO_LOAD_FACTOR = 0.9;
+    
+    // I gave every cuckoo key two candidate buckets of four slots, plus a small shared stash
+    // for keys that could not be placed, so a lookup reads at most 2 * 4 + 4 slots.
+    private static final int CUCKOO_BUCKET_SIZE = 4;
+    private static final int CUCKOO_STASH_SIZE = 4;
+    private static final int MAX_CUCKOO_KICKS = 128;
+    // I doubled the table on every rebuild after this many, since keys with different hash codes
+    // always end up in different buckets once the table is large enough.
+    private static final int MAX_CUCKOO_REHASHES = 8;
+    private static final int CUCKOO_SEED_1 = 0;
+    private static final int CUCKOO_SEED_2 = 0x9E3779B9;
+    
+    // I migrate this many old buckets on every operation while a resize is in progress.
+    private static final int REHASH_BUCKETS_PER_OPERATION = 4;
+    
+    // I created this Node class for chaining.
+    private class Node {
+        T data;
+        Node next;
+        
+        Node(T data) {
+            this.data = data;
+        }
+    }
+    
+    // I stored the quadratic probing slot states as bytes; a new byte[] starts out all EMPTY.
+    static final byte EMPTY = 0;
+    static final byte OCCUPIED = 1;
+    static final byte DELETED = 2;
+    
+    // I marked swiss table slots with control bytes: a full slot holds the 7-bit fingerprint
+    // of its key (0 to 127), so only empty and deleted slots are negative.
+    static final byte CONTROL_EMPTY = (byte) 0x80;
+    static final byte CONTROL_DELETED = (byte) 0xFE;
+    private static final GroupMatcher MATCHER = GroupMatcher.select();
+    
+    private Node[] chainTable;
+    // I kept quadratic probing as two parallel arrays instead of one Entry object per slot,
+    // so a probe reads one byte and only touches the key when the slot is occupied.
+    private Object[] quadKeys;
+    private byte[] quadStates;
+    private Object[] swissKeys;
+    private byte[] swissControl;
+    private int swissTombstones;
+    private Object[] cuckooKeys;
+    private Object[] cuckooStash;
+    private int cuckooStashCount;
+    // I kept keys whose hash code matches every key in both of their buckets apart from the stash.
+    // No seed or table size can split equal hash codes, so only these keys ever go here.
+    private Object[] cuckooOverflow = new Object[0];
+    private int cuckooOverflowCount;
+    private int cuckooSeed1 = CUCKOO_SEED_1;
+    private int cuckooSeed2 = CUCKOO_SEED_2;
+    private int cuckooRandom = 0x2545F491;
+    // I remembered the slots of the last eviction walk so a failed walk can be undone.
+    private final int[] cuckooPath = new int[MAX_CUCKOO_KICKS];
+    // I kept the previous table around while a resize moves its buckets over a few at a time.
+    private Node[] oldChainTable;
+    private Object[] oldQuadKeys;
+    private byte[] oldQuadStates;
+    private Object[] oldSwissKeys;
+    private byte[] oldSwissControl;
+    private int rehashIndex;
+    private int size;
+    private int capacity;
+    private int collisionMethod;
+    private double loadFactor;
+    
+    public HashTables(int capacity, int collisionMethod) {
+        this(capacity, collisionMethod, DEFAULT_LOAD_FACTOR);
+    }
+    
+    public HashTables(int capacity, int collisionMethod, double loadFactor) {
+        if (!(loadFactor > 0)) {
+            throw new IllegalArgumentException("Load factor must be positive: " + loadFactor);
+        }
+        
+        this.capacity = capacity;
+        this.size = 0;
+        this.collisionMethod = collisionMethod;
+        // I applied the load factor as given for chaining but capped it for the open addressing modes.
+        if (collisionMethod == CHAINING) {
+            this.loadFactor = loadFactor;
+        } else if (collisionMethod == SWISS_TABLE) {
+            this.loadFactor = Math.min(loadFactor, MAX_SWISS_LOAD_FACTOR);
+        } else if (collisionMethod == CUCKOO) {
+            this.loadFactor = Math.min(loadFactor, MAX_CUCKOO_LOAD_FACTOR);
+        } else {
+            this.loadFactor = Math.min(loadFactor, MAX_PROBING_LOAD_FACTOR);
+        }
+        
+        if (collisionMethod == CHAINING) {
+            chainTable = newChainTable(capacity);
+        } else if (collisionMethod == SWISS_TABLE) {
+            // I rounded the swiss table up to a power of two with at least one whole group.
+            this.capacity = Math.max(GroupMatcher.GROUP_SIZE, Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1);
+            swissKeys = new Object[this.capacity];
+            swissControl = newControl(this.capacity);
+        } else if (collisionMethod == CUCKOO) {
+            // I rounded the cuckoo table up to a power of two with at least two whole buckets.
+            this.capacity = Math.max(2 * CUCKOO_BUCKET_SIZE, Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1);
+            cuckooKeys = new Object[this.capacity];
+            cuckooStash = new Object[CUCKOO_STASH_SIZE];
+        } else {
+            // I rounded probing tables up to a power of two so the probe sequence reaches every slot.
+            this.capacity = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            quadKeys = new Object[this.capacity];
+            quadStates = new byte[this.capacity];
+        }
+    }
+    
+    // I rebuilt a quadratic probing table from a snapshot's slots as they were, tombstones included,
+    // so nothing is rehashed.
+    HashTables(Object[] quadKeys, byte[] quadStates, int size, double loadFactor) {
+        this.capacity = quadKeys.length;
+        this.size = size;
+        this.collisionMethod = QUADRATIC_PROBING;
+        this.loadFactor = loadFactor;
+        this.quadKeys = quadKeys;
+        this.quadStates = quadStates;
+    }
+    
+    public void writeSnapshot(Path file) throws IOException {
+        // I wrote the probing table slot for slot, so HashTableSnapshot.open can search the file
+        // as it is. Only quadratic probing has a layout that does not depend on object identity.
+        if (collisionMethod != QUADRATIC_PROBING) {
+            throw new IllegalStateException("Only quadratic probing tables can be snapshotted");
+        }
+        finishRehash();
+        HashTableSnapshot.write(file, quadKeys, quadStates, size, loadFactor);
+    }
+    
+    public void insert(T data) {
+        rehashStep();
+        if (collisionMethod == CHAINING) {
+            insertChaining(data);
+        } else if (collisionMethod == SWISS_TABLE) {
+            insertSwiss(data);
+        } else if (collisionMethod == CUCKOO) {
+            insertCuckoo(data);
+        } else {
+            insertQuadratic(data);
+        }
+    }
+    
+    private void insertChaining(T data) {
+        // I checked if the data already exists in either table.
+        if (findInChain(chainTable, data) != null) {
+            return; // Element already exists
+        }
+        if (oldChainTable != null && findInChain(oldChainTable, data) != null) {
+            return;
+        }
+        
+        // I inserted the new node at the beginning of the chain.
+        int index = getIndex(data, capacity);
+        Node newNode = new Node(data);
+        newNode.next = chainTable[index];
+        chainTable[index] = newNode;
+        size++;
+        
+        if (size > capacity * loadFactor) {
+            // I resized the table because the load factor was exceeded.
+            resize(capacity * 2);
+        }
+    }
+    
+    private void insertQuadratic(T data) {
+        if (size >= capacity * loadFactor) {
+            // I resized the table because the load factor was exceeded.
+            resize(capacity * 2);
+        }
+        
+        // I checked if the element already exists in either table.
+        if (findIndexQuadratic(quadKeys, quadStates, data) != -1) {
+            return;
+        }
+        if (oldQuadKeys != null && findIndexQuadratic(oldQuadKeys, oldQuadStates, data) != -1) {
+            return;
+        }
+        
+        int index = getIndex(data, capacity);
+        int i = 1;
+        
+        while (quadStates[index] == OCCUPIED) {
+            // I used quadratic probing to resolve the collision. The offsets grow as 1, 3, 6, 10, ...
+            // which reaches every slot of a power-of-two table, so a migrated key always finds room.
+            index = (index + i) % capacity;
+            i++;
+            
+            // I resized the table if I went through the entire table.
+            if (i >= capacity) {
+                resize(capacity * 2);
+                // I reset the probing after resizing.
+                index = getIndex(data, capacity);
+                i = 1;
+            }
+        }
+        
+        // I inserted the element.
+        quadKeys[index] = data;
+        quadStates[index] = OCCUPIED;
+        size++;
+    }
+    
+    private void resize(int newCapacity) {
+        // I finished the previous resize first so there are never more than two tables.
+        finishRehash();
+        
+        capacity = newCapacity;
+        rehashIndex = 0;
+        if (collisionMethod == CHAINING) {
+            oldChainTable = chainTable;
+            chainTable = newChainTable(capacity);
+        } else if (collisionMethod == SWISS_TABLE) {
+            oldSwissKeys = swissKeys;
+            oldSwissControl = swissControl;
+            swissKeys = new Object[capacity];
+            swissControl = newControl(capacity);
+            swissTombstones = 0;
+        } else {
+            oldQuadKeys = quadKeys;
+            oldQuadStates = quadStates;
+            quadKeys = new Object[capacity];
+            quadStates = new byte[capacity];
+        }
+    }
+    
+    @SuppressWarnings("unchecked") // I suppressed this unchecked cast warning because of generic array creation.
+    private Node[] newChainTable(int length) {
+        // I made every Node array here, so the cast is in one place.
+        return (Node[]) new HashTables<?>.Node[length];
+    }
+    
+    private void rehashStep() {
+        // I moved a few old buckets into the new table so no single operation copies everything.
+        for (int step = 0; step < REHASH_BUCKETS_PER_OPERATION && isRehashing(); step++) {
+            migrateBucket();
+        }
+    }
+    
+    private void finishRehash() {
+        while (isRehashing()) {
+            migrateBucket();
+        }
+    }
+    
+    private boolean isRehashing() {
+        return oldChainTable != null || oldQuadKeys != null || oldSwissKeys != null;
+    }
+    
+    private void migrateBucket() {
+        if (collisionMethod == CHAINING) {
+            // I relinked the existing nodes instead of allocating new ones.
+            Node current = oldChainTable[rehashIndex];
+            oldChainTable[rehashIndex] = null;
+            while (current != null) {
+                Node next = current.next;
+                int index = getIndex(current.data, capacity);
+                current.next = chainTable[index];
+                chainTable[index] = current;
+                current = next;
+            }
+            rehashIndex++;
+            if (rehashIndex == oldChainTable.length) {
+                oldChainTable = null;
+            }
+        } else if (collisionMethod == SWISS_TABLE) {
+            if (oldSwissControl[rehashIndex] >= 0) {
+                placeSwiss(oldSwissKeys[rehashIndex]);
+                // I left a tombstone behind so probe sequences through this slot still work.
+                oldSwissKeys[rehashIndex] = null;
+                oldSwissControl[rehashIndex] = CONTROL_DELETED;
+            }
+            rehashIndex++;
+            if (rehashIndex == oldSwissKeys.length) {
+                oldSwissKeys = null;
+                oldSwissControl = null;
+            }
+        } else {
+            if (oldQuadStates[rehashIndex] == OCCUPIED) {
+                placeQuadratic(oldQuadKeys[rehashIndex]);
+                // I left a tombstone behind so probe sequences through this slot still work.
+                oldQuadKeys[rehashIndex] = null;
+                oldQuadStates[rehashIndex] = DELETED;
+            }
+            rehashIndex++;
+            if (rehashIndex == oldQuadKeys.length) {
+                oldQuadKeys = null;
+                oldQuadStates = null;
+            }
+        }
+    }
+    
+    private void placeQuadratic(Object data) {
+        // I placed a key that I already knew was not in the new table.
+        int index = getIndex(data, capacity);
+        int i = 1;
+        while (quadStates[index] == OCCUPIED) {
+            index = (index + i) % capacity;
+            i++;
+        }
+        quadKeys[index] = data;
+        quadStates[index] = OCCUPIED;
+    }
+    
+    public void delete(T data) {
+        rehashStep();
+        if (collisionMethod == CHAINING) {
+            deleteChaining(data);
+        } else if (collisionMethod == SWISS_TABLE) {
+            deleteSwiss(data);
+        } else if (collisionMethod == CUCKOO) {
+            deleteCuckoo(data);
+        } else {
+            deleteQuadratic(data);
+        }
+    }
+    
+    private void deleteChaining(T data) {
+        if (!deleteFromChain(chainTable, data) && oldChainTable != null) {
+            deleteFromChain(oldChainTable, data);
+        }
+    }
+    
+    private boolean deleteFromChain(Node[] table, T data) {
+        int index = getIndex(data, table.length);
+        
+        // I checked if the list is empty.
+        if (table[index] == null) {
+            return false;
+        }
+        
+        // I checked if the first node is the one to delete.
+        if (table[index].data.equals(data)) {
+            table[index] = table[index].next;
+            size--;
+            return true;
+        }
+        
+        // I searched for the node to delete.
+        Node current = table[index];
+        while (current.next != null && !current.next.data.equals(data)) {
+            current = current.next;
+        }
+        
+        // I deleted the node if I found it.
+        if (current.next != null) {
+            current.next = current.next.next;
+            size--;
+            return true;
+        }
+        return false;
+    }
+    
+    private void deleteQuadratic(T data) {
+        if (!deleteFromProbing(quadKeys, quadStates, data) && oldQuadKeys != null) {
+            deleteFromProbing(oldQuadKeys, oldQuadStates, data);
+        }
+    }
+    
+    private boolean deleteFromProbing(Object[] keys, byte[] states, T data) {
+        int index = findIndexQuadratic(keys, states, data);
+        
+        if (index != -1) {
+            states[index] = DELETED;
+            keys[index] = null;
+            size--;
+            return true;
+        }
+        return false;
+    }
+    
+    public boolean contains(T data) {
+        rehashStep();
+        if (collisionMethod == CHAINING) {
+            return containsChaining(data);
+        } else if (collisionMethod == SWISS_TABLE) {
+            return containsSwiss(data);
+        } else if (collisionMethod == CUCKOO) {
+            return containsCuckoo(data);
+        } else {
+            return containsQuadratic(data);
+        }
+    }
+    
+    private boolean containsChaining(T data) {
+        return findInChain(chainTable, data) != null
+                || (oldChainTable != null && findInChain(oldChainTable, data) != null);
+    }
+    
+    private Node findInChain(Node[] table, T data) {
+        Node current = table[getIndex(data, table.length)];
+        int visited = 0;
+        while (current != null) {
+            visited++;
+            if (current.data.equals(data)) {
+                countChain(visited);
+                return current;
+            }
+            current = current.next;
+        }
+        
+        countChain(visited);
+        return null;
+    }
+    
+    private static void countChain(int visited) {
+        if (OperationCounter.ENABLED) {
+            OperationCounter.CHAIN_LENGTH.record(visited);
+        }
+    }
+    
+    private boolean containsQuadratic(T data) {
+        return findIndexQuadratic(quadKeys, quadStates, data) != -1
+                || (oldQuadKeys != null && findIndexQuadratic(oldQuadKeys, oldQuadStates, data) != -1);
+    }
+    
+    private int findIndexQuadratic(Object[] keys, byte[] states, T data) {
+        int length = keys.length;
+        int index = getIndex(data, length);
+        int i = 1;
+        int tombstones = 0;
+        
+        byte state;
+        while ((state = states[index]) != EMPTY) {
+            if (state == OCCUPIED && data.equals(keys[index])) {
+                countProbes(i, tombstones);
+                return index;
+            }
+            if (state == DELETED) {
+                tombstones++;
+            }
+            
+            // I used quadratic probing to find the index.
+            index = (index + i) % length;
+            i++;
+            
+            // I stopped searching if I went through the entire table.
+            if (i >= length) {
+                break;
+            }
+        }
+        
+        countProbes(i, tombstones);
+        return -1;
+    }
+    
+    private static void countProbes(int probes, int tombstones) {
+        // I counted the empty slot that ends a miss as a probe too, since it was read.
+        if (OperationCounter.ENABLED) {
+            OperationCounter.QUADRATIC_PROBES.record(probes);
+            OperationCounter.QUADRATIC_TOMBSTONES.record(tombstones);
+        }
+    }
+    
+    private void insertSwiss(T data) {
+        // I checked if the element already exists in either table.
+        if (findIndexSwiss(swissKeys, swissControl, data) != -1) {
+            return;
+        }
+        if (oldSwissKeys != null && findIndexSwiss(oldSwissKeys, oldSwissControl, data) != -1) {
+            return;
+        }
+        
+        if (size + swissTombstones >= capacity * loadFactor) {
+            // I doubled the table when it was really full, and rebuilt it at the same size
+            // when most of the load was tombstones.
+            resize(size >= capacity * loadFactor / 2 ? capacity * 2 : capacity);
+        }
+        
+        placeSwiss(data);
+        size++;
+    }
+    
+    private void placeSwiss(Object data) {
+        // I placed a key that I already knew was not in the new table.
+        int hash = swissHash(data);
+        int groupMask = (swissControl.length >> 4) - 1;
+        int group = (hash >>> 7) & groupMask;
+        
+        for (int i = 1; ; i++) {
+            int offset = group << 4;
+            int free = MATCHER.firstEmptyOrDeleted(swissControl, offset);
+            if (free != -1) {
+                int slot = offset + free;
+                if (swissControl[slot] == CONTROL_DELETED) {
+                    swissTombstones--;
+                }
+                swissControl[slot] = (byte) (hash & 0x7F);
+                swissKeys[slot] = data;
+                return;
+            }
+            // I moved on by a triangular number of groups, which visits every group.
+            group = (group + i) & groupMask;
+        }
+    }
+    
+    private void deleteSwiss(T data) {
+        if (!deleteFromSwiss(swissKeys, swissControl, data) && oldSwissKeys != null) {
+            deleteFromSwiss(oldSwissKeys, oldSwissControl, data);
+        }
+    }
+    
+    private boolean deleteFromSwiss(Object[] keys, byte[] control, T data) {
+        int slot = findIndexSwiss(keys, control, data);
+        if (slot == -1) {
+            return false;
+        }
+        
+        // I could mark the slot empty again only if its group still has an empty slot,
+        // because then no probe sequence has ever passed through this group.
+        int offset = slot & -GroupMatcher.GROUP_SIZE;
+        if (MATCHER.hasEmpty(control, offset)) {
+            control[slot] = CONTROL_EMPTY;
+        } else {
+            control[slot] = CONTROL_DELETED;
+            if (control == swissControl) {
+                swissTombstones++;
+            }
+        }
+        keys[slot] = null;
+        size--;
+        return true;
+    }
+    
+    private boolean containsSwiss(T data) {
+        return findIndexSwiss(swissKeys, swissControl, data) != -1
+                || (oldSwissKeys != null && findIndexSwiss(oldSwissKeys, oldSwissControl, data) != -1);
+    }
+    
+    private int findIndexSwiss(Object[] keys, byte[] control, T data) {
+        int hash = swissHash(data);
+        byte fingerprint = (byte) (hash & 0x7F);
+        int groupMask = (control.length >> 4) - 1;
+        int group = (hash >>> 7) & groupMask;
+        
+        for (int i = 1; i <= groupMask + 1; i++) {
+            int offset = group << 4;
+            // I only called equals on the slots whose fingerprint matched.
+            int candidates = MATCHER.match(control, offset, fingerprint);
+            while (candidates != 0) {
+                int slot = offset + Integer.numberOfTrailingZeros(candidates);
+                if (data.equals(keys[slot])) {
+                    return slot;
+                }
+                candidates &= candidates - 1;
+            }
+            // I stopped at the first group with an empty slot, since the key would have been placed there.
+            if (MATCHER.hasEmpty(control, offset)) {
+                return -1;
+            }
+            group = (group + i) & groupMask;
+        }
+        
+        return -1;
+    }
+    
+    private void insertCuckoo(T data) {
+        if (containsCuckoo(data)) {
+            return;
+        }
+        if (size >= capacity * loadFactor) {
+            // I kept the old table if even the doubled one could not place every key, which the
+            // next insert retries; at half load that is all but impossible.
+            rebuildCuckoo(capacity * 2, null);
+        }
+        if (!addCuckoo(data)) {
+            rehashCuckoo(data);
+        }
+        size++;
+    }
+    
+    private boolean addCuckoo(Object data) {
+        // I sent a key to the overflow when both of its buckets were full of keys with its hash code,
+        // and otherwise put it in one of its buckets, or in the stash while it has room.
+        if (sharesBothBuckets(data)) {
+            if (cuckooOverflowCount == cuckooOverflow.length) {
+                cuckooOverflow = Arrays.copyOf(cuckooOverflow, Math.max(CUCKOO_STASH_SIZE, cuckooOverflow.length * 2));
+            }
+            cuckooOverflow[cuckooOverflowCount++] = data;
+            return true;
+        }
+        if (placeCuckoo(data)) {
+            return true;
+        }
+        if (cuckooStashCount == CUCKOO_STASH_SIZE) {
+            return false;
+        }
+        cuckooStash[cuckooStashCount++] = data;
+        return true;
+    }
+    
+    private void rehashCuckoo(Object data) {
+        // I rebuilt the table with fresh seeds when the stash was full instead of letting the stash
+        // grow, so a lookup never reads more than its 12 slots. I doubled the table as well while it
+        // was more than half full, since then the buckets are crowded and not only unlucky.
+        for (int attempt = 0; ; attempt++) {
+            boolean crowded = attempt >= MAX_CUCKOO_REHASHES || size > capacity * loadFactor / 2;
+            if (rebuildCuckoo(crowded ? capacity * 2 : capacity, data)) {
+                return;
+            }
+        }
+    }
+    
+    private boolean sharesBothBuckets(Object data) {
+        int hash = data.hashCode();
+        return bucketSharesHash(firstBucket(data), hash) && bucketSharesHash(secondBucket(data), hash);
+    }
+    
+    private boolean bucketSharesHash(int bucket, int hash) {
+        int offset = bucket * CUCKOO_BUCKET_SIZE;
+        for (int slot = offset; slot < offset + CUCKOO_BUCKET_SIZE; slot++) {
+            if (cuckooKeys[slot] == null || cuckooKeys[slot].hashCode() != hash) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean placeCuckoo(Object data) {
+        // I put the key in a free slot of either bucket, or else evicted a random key and moved it
+        // to its other bucket, for a bounded number of kicks. If the walk failed I undid it, so the
+        // table is unchanged and the key is still left without a slot.
+        Object key = data;
+        int bucket = firstBucket(key);
+        if (putInBucket(bucket, key) || putInBucket(secondBucket(key), key)) {
+            return true;
+        }
+        if ((nextCuckooRandom() & 1) != 0) {
+            bucket = secondBucket(key);
+        }
+        for (int kick = 0; kick < MAX_CUCKOO_KICKS; kick++) {
+            int slot = bucket * CUCKOO_BUCKET_SIZE + (nextCuckooRandom() & (CUCKOO_BUCKET_SIZE - 1));
+            cuckooPath[kick] = slot;
+            Object evicted = cuckooKeys[slot];
+            cuckooKeys[slot] = key;
+            key = evicted;
+            int first = firstBucket(key);
+            bucket = first == bucket ? secondBucket(key) : first;
+            if (putInBucket(bucket, key)) {
+                return true;
+            }
+        }
+        for (int kick = MAX_CUCKOO_KICKS - 1; kick >= 0; kick--) {
+            Object moved = cuckooKeys[cuckooPath[kick]];
+            cuckooKeys[cuckooPath[kick]] = key;
+            key = moved;
+        }
+        return false;
+    }
+    
+    private boolean putInBucket(int bucket, Object data) {
+        int offset = bucket * CUCKOO_BUCKET_SIZE;
+        for (int slot = offset; slot < offset + CUCKOO_BUCKET_SIZE; slot++) {
+            if (cuckooKeys[slot] == null) {
+                cuckooKeys[slot] = data;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean rebuildCuckoo(int newCapacity, Object extra) {
+        // I rebuilt the table in one go instead of migrating buckets over later operations,
+        // because a key moving in could fail to find a slot and force another resize mid-migration.
+        // Keeping one table also means a lookup never has to check a second one. Every rebuild
+        // draws new seeds, and a failed one puts the old table back.
+        Object[] oldKeys = cuckooKeys;
+        Object[] oldStash = cuckooStash;
+        int oldStashCount = cuckooStashCount;
+        Object[] oldOverflow = cuckooOverflow;
+        int oldOverflowCount = cuckooOverflowCount;
+        int oldCapacity = capacity;
+        int oldSeed1 = cuckooSeed1;
+        int oldSeed2 = cuckooSeed2;
+        capacity = newCapacity;
+        cuckooKeys = new Object[newCapacity];
+        cuckooStash = new Object[CUCKOO_STASH_SIZE];
+        cuckooStashCount = 0;
+        cuckooOverflow = new Object[0];
+        cuckooOverflowCount = 0;
+        cuckooSeed1 = nextCuckooRandom();
+        cuckooSeed2 = nextCuckooRandom();
+        boolean placed = extra == null || addCuckoo(extra);
+        for (int i = 0; placed && i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                placed = addCuckoo(oldKeys[i]);
+            }
+        }
+        for (int i = 0; placed && i < oldStashCount; i++) {
+            placed = addCuckoo(oldStash[i]);
+        }
+        for (int i = 0; placed && i < oldOverflowCount; i++) {
+            placed = addCuckoo(oldOverflow[i]);
+        }
+        if (!placed) {
+            capacity = oldCapacity;
+            cuckooKeys = oldKeys;
+            cuckooStash = oldStash;
+            cuckooStashCount = oldStashCount;
+            cuckooOverflow = oldOverflow;
+            cuckooOverflowCount = oldOverflowCount;
+            cuckooSeed1 = oldSeed1;
+            cuckooSeed2 = oldSeed2;
+        }
+        return placed;
+    }
+    
+    private void deleteCuckoo(T data) {
+        int slot = findIndexCuckoo(data);
+        if (slot != -1) {
+            cuckooKeys[slot] = null;
+            size--;
+            // I refilled the slot from the overflow first, so the buckets of the keys left there
+            // stay full of their hash code and a lookup still knows to look for them.
+            for (int i = 0; i < cuckooOverflowCount; i++) {
+                if (cuckooOverflow[i].hashCode() == data.hashCode()) {
+                    cuckooKeys[slot] = cuckooOverflow[i];
+                    removeFromOverflow(i);
+                    return;
+                }
+            }
+            // I moved a stashed key into the freed slot if it belongs to this bucket,
+            // so the stash empties out again as the table drains.
+            int bucket = slot / CUCKOO_BUCKET_SIZE;
+            for (int i = 0; i < cuckooStashCount; i++) {
+                Object stashed = cuckooStash[i];
+                if (firstBucket(stashed) == bucket || secondBucket(stashed) == bucket) {
+                    cuckooKeys[slot] = stashed;
+                    removeFromStash(i);
+                    break;
+                }
+            }
+            return;
+        }
+        int index = findInStash(data);
+        if (index != -1) {
+            removeFromStash(index);
+            size--;
+            return;
+        }
+        index = findInOverflow(data);
+        if (index != -1) {
+            removeFromOverflow(index);
+            size--;
+        }
+    }
+    
+    private void removeFromStash(int index) {
+        cuckooStash[index] = cuckooStash[--cuckooStashCount];
+        cuckooStash[cuckooStashCount] = null;
+    }
+    
+    private void removeFromOverflow(int index) {
+        cuckooOverflow[index] = cuckooOverflow[--cuckooOverflowCount];
+        cuckooOverflow[cuckooOverflowCount] = null;
+    }
+    
+    private boolean containsCuckoo(Object data) {
+        return findIndexCuckoo(data) != -1 || findInStash(data) != -1 || findInOverflow(data) != -1;
+    }
+    
+    private int findIndexCuckoo(Object data) {
+        // I checked the two buckets and nothing else, so a lookup never probes further
+        // however full the table is.
+        int slot = findInBucket(firstBucket(data), data);
+        return slot != -1 ? slot : findInBucket(secondBucket(data), data);
+    }
+    
+    private int findInBucket(int bucket, Object data) {
+        int offset = bucket * CUCKOO_BUCKET_SIZE;
+        for (int slot = offset; slot < offset + CUCKOO_BUCKET_SIZE; slot++) {
+            if (data.equals(cuckooKeys[slot])) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+    
+    private int findInStash(Object data) {
+        for (int i = 0; i < cuckooStashCount; i++) {
+            if (data.equals(cuckooStash[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private int findInOverflow(Object data) {
+        // I only searched the overflow when both buckets were full of keys with the same hash code,
+        // so a key with any other hash code still reads at most its 12 slots.
+        if (cuckooOverflowCount == 0 || !sharesBothBuckets(data)) {
+            return -1;
+        }
+        for (int i = 0; i < cuckooOverflowCount; i++) {
+            if (data.equals(cuckooOverflow[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private int firstBucket(Object data) {
+        return cuckooHash(data, cuckooSeed1) & (cuckooKeys.length / CUCKOO_BUCKET_SIZE - 1);
+    }
+    
+    private int secondBucket(Object data) {
+        return cuckooHash(data, cuckooSeed2) & (cuckooKeys.length / CUCKOO_BUCKET_SIZE - 1);
+    }
+    
+    private static int cuckooHash(Object data, int seed) {
+        // I seeded the murmur3 finalizer differently for each bucket, so two keys that share
+        // one bucket are unlikely to share the other.
+        int hash = data.hashCode() ^ seed;
+        hash = (hash ^ (hash >>> 16)) * 0x85EBCA6B;
+        hash = (hash ^ (hash >>> 13)) * 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+    
+    private int nextCuckooRandom() {
+        // I picked eviction victims with an xorshift generator, since a fixed choice can cycle.
+        int x = cuckooRandom;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        cuckooRandom = x;
+        return x >>> 1;
+    }
+    
+    private static byte[] newControl(int length) {
+        byte[] control = new byte[length];
+        Arrays.fill(control, CONTROL_EMPTY);
+        return control;
+    }
+    
+    private static int swissHash(Object data) {
+        // I mixed the hash code so both the group index and the fingerprint get well-spread bits.
+        int hash = data.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+    
+    private int getIndex(Object data, int length) {
+        // I got the positive hash code.
+        int hashCode = data.hashCode() & 0x7fffffff;
+        return hashCode % length;
+    }
+}
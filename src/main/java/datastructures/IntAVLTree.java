@@ -0,0 +1,267 @@
+package datastructures;
+
+import java.util.Arrays;
+
+public class IntAVLTree {
+    // I kept the nodes in parallel primitive arrays instead of objects. A node is an index into
+    // them, so a key costs 13 bytes with no header or boxed Integer, and a descent reads ints
+    // packed next to each other instead of chasing pointers across the heap.
+    private static final int NIL = 0;
+    
+    private static final int MAX_HEIGHT = 48;
+    
+    private static final int DEFAULT_CAPACITY = 16;
+    
+    private int[] keys;
+    private int[] left;
+    private int[] right;
+    private byte[] heights;
+    
+    private int root = NIL;
+    private int size;
+    
+    // I handed out slots from the end of the arrays, then from freed slots linked through left[].
+    private int nextUnused = 1;
+    private int freeList = NIL;
+    
+    private final int[] path = new int[MAX_HEIGHT];
+    
+    public IntAVLTree() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    public IntAVLTree(int capacity) {
+        // I reserved slot 0 as the null child. Its height stays 0, so no lookup needs a null check.
+        int length = Math.max(capacity, 1) + 1;
+        keys = new int[length];
+        left = new int[length];
+        right = new int[length];
+        heights = new byte[length];
+    }
+    
+    public void insert(int key) {
+        // I performed standard BST insertion, remembering the path down.
+        if (root == NIL) {
+            root = allocate(key);
+            size++;
+            return;
+        }
+        
+        int depth = 0;
+        int node = root;
+        int current = 0;
+        while (node != NIL) {
+            current = keys[node];
+            if (key == current) {
+                // I prevented duplicate keys.
+                return;
+            }
+            path[depth++] = node;
+            node = key < current ? left[node] : right[node];
+        }
+        
+        // I allocated before reading the parent's arrays again, since allocating may replace them.
+        int created = allocate(key);
+        int parent = path[depth - 1];
+        if (key < current) {
+            left[parent] = created;
+        } else {
+            right[parent] = created;
+        }
+        size++;
+        
+        // I walked back up. One rotation restores the subtree's old height after an insert, and
+        // an unchanged height means nothing above can change, so either one ends the walk.
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = heights[node];
+            updateHeight(node);
+            int balanced = rebalance(node);
+            if (balanced != node) {
+                replaceChild(i, node, balanced);
+                break;
+            }
+            if (heights[node] == oldHeight) {
+                break;
+            }
+        }
+    }
+    
+    public void delete(int key) {
+        // I performed standard BST deletion, remembering the path down.
+        int depth = 0;
+        int node = root;
+        while (node != NIL) {
+            int current = keys[node];
+            if (key == current) {
+                break;
+            }
+            path[depth++] = node;
+            node = key < current ? left[node] : right[node];
+        }
+        if (node == NIL) {
+            return;
+        }
+        
+        if (left[node] != NIL && right[node] != NIL) {
+            // I handled node with two children by finding the inorder successor.
+            path[depth++] = node;
+            int successor = right[node];
+            while (left[successor] != NIL) {
+                path[depth++] = successor;
+                successor = left[successor];
+            }
+            keys[node] = keys[successor];
+            node = successor;
+        }
+        
+        // I handled node with one or zero children.
+        int child = left[node] != NIL ? left[node] : right[node];
+        replaceChild(depth, node, child);
+        release(node);
+        size--;
+        
+        // I walked back up, rotating where needed, until a subtree kept its old height.
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = heights[node];
+            updateHeight(node);
+            int balanced = rebalance(node);
+            if (balanced != node) {
+                replaceChild(i, node, balanced);
+            }
+            if (heights[balanced] == oldHeight) {
+                break;
+            }
+        }
+    }
+    
+    public boolean contains(int key) {
+        // I searched with a plain loop over the key and child arrays.
+        int node = root;
+        while (node != NIL) {
+            int current = keys[node];
+            if (key < current) {
+                node = left[node];
+            } else if (key > current) {
+                node = right[node];
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private int allocate(int key) {
+        int node;
+        if (freeList != NIL) {
+            // I reused the most recently freed slot first.
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (nextUnused == keys.length) {
+                grow();
+            }
+            node = nextUnused++;
+        }
+        keys[node] = key;
+        left[node] = NIL;
+        right[node] = NIL;
+        heights[node] = 1;
+        return node;
+    }
+    
+    private void release(int node) {
+        // I pushed the slot onto the free list. Its key stays behind, but nothing links to it.
+        left[node] = freeList;
+        right[node] = NIL;
+        heights[node] = 0;
+        freeList = node;
+    }
+    
+    private void grow() {
+        // I doubled the arrays, so n inserts copy O(n) slots in total.
+        int length = keys.length * 2;
+        keys = Arrays.copyOf(keys, length);
+        left = Arrays.copyOf(left, length);
+        right = Arrays.copyOf(right, length);
+        heights = Arrays.copyOf(heights, length);
+    }
+    
+    private int rebalance(int node) {
+        // I calculated the balance factor.
+        int balance = getBalance(node);
+        
+        if (balance > 1) {
+            // I handled Left Right Case by first turning it into Left Left Case.
+            if (getBalance(left[node]) < 0) {
+                left[node] = leftRotate(left[node]);
+            }
+            return rightRotate(node);
+        }
+        if (balance < -1) {
+            // I handled Right Left Case by first turning it into Right Right Case.
+            if (getBalance(right[node]) > 0) {
+                right[node] = rightRotate(right[node]);
+            }
+            return leftRotate(node);
+        }
+        return node;
+    }
+    
+    private void replaceChild(int depth, int oldChild, int newChild) {
+        // I linked newChild where oldChild was, under the node stored at path[depth - 1].
+        if (depth == 0) {
+            root = newChild;
+            return;
+        }
+        int parent = path[depth - 1];
+        if (left[parent] == oldChild) {
+            left[parent] = newChild;
+        } else {
+            right[parent] = newChild;
+        }
+    }
+    
+    private void updateHeight(int node) {
+        heights[node] = (byte) (1 + Math.max(heights[left[node]], heights[right[node]]));
+    }
+    
+    private int getBalance(int node) {
+        // I calculated the balance factor of a node; NIL has two NIL children and balance 0.
+        return heights[left[node]] - heights[right[node]];
+    }
+    
+    private int rightRotate(int y) {
+        // I performed right rotation.
+        int x = left[y];
+        int T2 = right[x];
+        
+        right[x] = y;
+        left[y] = T2;
+        
+        // I updated heights after rotation, the lower node first.
+        updateHeight(y);
+        updateHeight(x);
+        
+        return x;
+    }
+    
+    private int leftRotate(int x) {
+        // I performed left rotation.
+        int y = right[x];
+        int T2 = left[y];
+        
+        left[y] = x;
+        right[x] = T2;
+        
+        updateHeight(x);
+        updateHeight(y);
+        
+        return y;
+    }
+}
@@ -0,0 +1,122 @@
+package datastructures;
+
+public class IntHashSet {
+    // I used 0 to mark an empty slot, so the key 0 itself is tracked with a separate flag.
+    private static final int EMPTY = 0;
+    
+    // I kept the table at most half full so linear probe runs stay short.
+    private static final double LOAD_FACTOR = 0.5;
+    
+    private int[] table;
+    private int mask;
+    private int shift;
+    private int size;
+    private boolean containsZero;
+    
+    public IntHashSet(int capacity) {
+        // I rounded the table up to a power of two so I can mask instead of using %.
+        allocate(Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1);
+    }
+    
+    public void insert(int key) {
+        if (key == EMPTY) {
+            containsZero = true;
+            return;
+        }
+        
+        int index = getIndex(key);
+        int current;
+        while ((current = table[index]) != EMPTY) {
+            if (current == key) {
+                return; // Element already exists
+            }
+            // I used linear probing so the probe walks one cache line at a time.
+            index = (index + 1) & mask;
+        }
+        
+        table[index] = key;
+        size++;
+        if (size > table.length * LOAD_FACTOR) {
+            // I resized the table because the load factor was exceeded.
+            resize(table.length * 2);
+        }
+    }
+    
+    public boolean contains(int key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        
+        int index = getIndex(key);
+        int current;
+        while ((current = table[index]) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+    
+    public void delete(int key) {
+        if (key == EMPTY) {
+            containsZero = false;
+            return;
+        }
+        
+        int index = getIndex(key);
+        int current;
+        while ((current = table[index]) != key) {
+            if (current == EMPTY) {
+                return; // Element does not exist
+            }
+            index = (index + 1) & mask;
+        }
+        
+        // I shifted later keys of the run back into the hole instead of leaving a tombstone.
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while ((current = table[next]) != EMPTY) {
+            int home = getIndex(current);
+            // I only moved a key whose probe path from its home slot passes through the hole.
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = current;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[hole] = EMPTY;
+        size--;
+    }
+    
+    public int size() {
+        return containsZero ? size + 1 : size;
+    }
+    
+    private void resize(int newLength) {
+        int[] oldTable = table;
+        allocate(newLength);
+        
+        // I reinserted all keys straight into their slots; they are known to be distinct.
+        for (int key : oldTable) {
+            if (key != EMPTY) {
+                int index = getIndex(key);
+                while (table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = key;
+            }
+        }
+    }
+    
+    private void allocate(int length) {
+        table = new int[length];
+        mask = length - 1;
+        shift = Integer.numberOfLeadingZeros(length) + 1;
+    }
+    
+    private int getIndex(int key) {
+        // I used Fibonacci hashing so that sequential keys spread across the table.
+        return (key * 0x9E3779B9) >>> shift;
+    }
+}
@@ -0,0 +1,327 @@
+package datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LockFreeHashTables<T> {
+    // I resized at half full, the same limit HashTables uses for quadratic probing.
+    private static final double LOAD_FACTOR = 0.5;
+    
+    // I had every operation that finds a resize in progress copy this many slots.
+    private static final int MIGRATION_CHUNK = 64;
+    
+    // I kept every slot's state in a byte. A key slot, once claimed, keeps its key for the life of
+    // the table, so a delete only flips the state and no probe sequence is ever broken.
+    private static final byte UNSET = 0;
+    private static final byte PRESENT = 1;
+    private static final byte ABSENT = 2;
+    private static final byte VALUE = 3;
+    // I or-ed these bits onto the value when a resize froze the slot and when it finished copying it.
+    private static final byte FROZEN = 4;
+    private static final byte COPIED = 8;
+    
+    // I claimed empty key slots with this marker during a resize so no new key lands behind the copy.
+    private static final Object MOVED = new Object();
+    
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle STATES = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final VarHandle TABLE;
+    
+    static {
+        try {
+            TABLE = MethodHandles.lookup().findVarHandle(LockFreeHashTables.class, "table", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    // I created this Table class so a resize can hang the next table off the current one.
+    private static final class Table {
+        final Object[] keys;
+        final byte[] states;
+        final int threshold;
+        final AtomicInteger claimed = new AtomicInteger();
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final AtomicInteger copiedSlots = new AtomicInteger();
+        volatile Table next;
+        
+        Table(int length) {
+            keys = new Object[length];
+            states = new byte[length];
+            threshold = (int) (length * LOAD_FACTOR);
+        }
+    }
+    
+    private final LongAdder size = new LongAdder();
+    private volatile Table table;
+    
+    public LockFreeHashTables(int capacity) {
+        // I rounded the table up to a power of two so the probe sequence reaches every slot.
+        table = new Table(Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1);
+    }
+    
+    public void insert(T data) {
+        Table tab = table;
+        while (tab != null) {
+            helpResize(tab);
+            tab = insertIn(tab, data);
+        }
+    }
+    
+    public void delete(T data) {
+        Table tab = table;
+        while (tab != null) {
+            helpResize(tab);
+            tab = deleteIn(tab, data);
+        }
+    }
+    
+    public boolean contains(T data) {
+        // I never wrote anything here, not even to help a resize, so lookups stay pure reads.
+        int hash = spread(data.hashCode());
+        Table tab = table;
+        while (true) {
+            int slot = findSlot(tab, data, hash);
+            if (slot < 0) {
+                if (slot == -1) {
+                    return false;
+                }
+                tab = tab.next;
+                continue;
+            }
+            
+            byte state = (byte) STATES.getVolatile(tab.states, slot);
+            if ((state & COPIED) != 0) {
+                tab = tab.next;
+                continue;
+            }
+            // I treated a frozen state as still valid, because the copy carries exactly that value.
+            return (state & VALUE) == PRESENT;
+        }
+    }
+    
+    public int size() {
+        return size.intValue();
+    }
+    
+    private Table insertIn(Table tab, T data) {
+        // I returned the table to retry in, or null once the operation took effect.
+        int hash = spread(data.hashCode());
+        int slot = claimSlot(tab, data, hash);
+        if (slot < 0) {
+            return nextOrResize(tab);
+        }
+        
+        while (true) {
+            byte state = (byte) STATES.getVolatile(tab.states, slot);
+            if (state == PRESENT) {
+                return null; // Element already exists
+            }
+            if ((state & (FROZEN | COPIED)) != 0) {
+                // I finished the copy of this slot and retried in the next table.
+                copySlot(tab, slot);
+                return tab.next;
+            }
+            if (STATES.compareAndSet(tab.states, slot, state, PRESENT)) {
+                size.increment();
+                return null;
+            }
+        }
+    }
+    
+    private Table deleteIn(Table tab, T data) {
+        int hash = spread(data.hashCode());
+        int slot = findSlot(tab, data, hash);
+        if (slot == -1) {
+            return null; // Element does not exist
+        }
+        if (slot < 0) {
+            return tab.next;
+        }
+        
+        while (true) {
+            byte state = (byte) STATES.getVolatile(tab.states, slot);
+            if (state != PRESENT) {
+                if ((state & (FROZEN | COPIED)) != 0) {
+                    copySlot(tab, slot);
+                    return tab.next;
+                }
+                return null;
+            }
+            if (STATES.compareAndSet(tab.states, slot, PRESENT, ABSENT)) {
+                size.decrement();
+                return null;
+            }
+        }
+    }
+    
+    private int findSlot(Table tab, Object data, int hash) {
+        // I returned the key's slot, -1 if it is not in this table, or -2 if the answer is in the next one.
+        Object[] keys = tab.keys;
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        
+        for (int i = 1; i <= keys.length; i++) {
+            Object key = KEYS.getVolatile(keys, index);
+            if (key == null) {
+                return -1;
+            }
+            if (key == MOVED) {
+                return -2;
+            }
+            if (key.equals(data)) {
+                return index;
+            }
+            // I used the same triangular probe steps as quadratic probing in HashTables.
+            index = (index + i) & mask;
+        }
+        return tab.next != null ? -2 : -1;
+    }
+    
+    private int claimSlot(Table tab, Object data, int hash) {
+        // I found or claimed the key's slot, or returned -1 if the key belongs in the next table.
+        Object[] keys = tab.keys;
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        
+        for (int i = 1; i <= keys.length; i++) {
+            Object key = KEYS.getVolatile(keys, index);
+            if (key == null) {
+                if (tab.claimed.get() >= tab.threshold) {
+                    // I stopped filling a table that has reached its load factor. I closed this
+                    // empty slot first, so a lookup that stops here knows to check the next table.
+                    startResize(tab);
+                    copySlot(tab, index);
+                } else if (KEYS.compareAndSet(keys, index, null, data)) {
+                    tab.claimed.incrementAndGet();
+                    return index;
+                }
+                // I re-read the slot another thread just claimed; it may hold my key.
+                key = KEYS.getVolatile(keys, index);
+            }
+            if (key == MOVED) {
+                return -1;
+            }
+            if (key.equals(data)) {
+                return index;
+            }
+            index = (index + i) & mask;
+        }
+        return -1;
+    }
+    
+    private Table nextOrResize(Table tab) {
+        Table next = startResize(tab);
+        helpResize(tab);
+        return next;
+    }
+    
+    private Table startResize(Table tab) {
+        Table next = tab.next;
+        if (next == null) {
+            // I doubled the table when it was really full, and rebuilt it at the same size
+            // when most of the claimed slots were deleted keys.
+            int length = tab.keys.length;
+            Table bigger = new Table(size.sum() >= length * LOAD_FACTOR / 2 ? length * 2 : length);
+            synchronized (tab) {
+                if (tab.next == null) {
+                    tab.next = bigger;
+                }
+            }
+            next = tab.next;
+        }
+        return next;
+    }
+    
+    private void helpResize(Table tab) {
+        if (tab.next == null) {
+            return;
+        }
+        
+        // I claimed a chunk of slots and copied it, so the resize is shared by every writer.
+        int length = tab.keys.length;
+        int start = tab.nextChunk.getAndAdd(MIGRATION_CHUNK);
+        if (start < length) {
+            int end = Math.min(start + MIGRATION_CHUNK, length);
+            for (int slot = start; slot < end; slot++) {
+                copySlot(tab, slot);
+            }
+        }
+        
+        // I promoted the next table once every slot has been copied.
+        if (tab.copiedSlots.get() == length) {
+            TABLE.compareAndSet(this, tab, tab.next);
+        }
+    }
+    
+    private void copySlot(Table tab, int slot) {
+        // I closed empty key slots so nothing new is added behind the copy.
+        Object key = KEYS.getVolatile(tab.keys, slot);
+        while (key == null) {
+            if (KEYS.compareAndSet(tab.keys, slot, null, MOVED)) {
+                tab.copiedSlots.incrementAndGet();
+                return;
+            }
+            key = KEYS.getVolatile(tab.keys, slot);
+        }
+        if (key == MOVED) {
+            return;
+        }
+        
+        // I froze the state so no writer can change it while it is copied.
+        byte state;
+        while (true) {
+            state = (byte) STATES.getVolatile(tab.states, slot);
+            if ((state & (FROZEN | COPIED)) != 0 || STATES.compareAndSet(tab.states, slot, state, (byte) (state | FROZEN))) {
+                break;
+            }
+        }
+        if ((state & COPIED) != 0) {
+            return;
+        }
+        
+        byte frozen = (byte) (state | FROZEN);
+        if ((frozen & VALUE) == PRESENT) {
+            copyInto(tab.next, key);
+        }
+        
+        // I let exactly one thread count the slot as copied.
+        if (STATES.compareAndSet(tab.states, slot, frozen, (byte) (frozen | COPIED))) {
+            tab.copiedSlots.incrementAndGet();
+        }
+    }
+    
+    private void copyInto(Table tab, Object key) {
+        // I only filled a slot that was never set, so a late copier cannot bring back a key
+        // that was deleted from the next table after the first copy got there.
+        int hash = spread(key.hashCode());
+        while (tab != null) {
+            int slot = claimSlot(tab, key, hash);
+            if (slot < 0) {
+                tab = nextOrResize(tab);
+                continue;
+            }
+            byte state;
+            while ((state = (byte) STATES.getVolatile(tab.states, slot)) == UNSET) {
+                if (STATES.compareAndSet(tab.states, slot, UNSET, PRESENT)) {
+                    return;
+                }
+            }
+            if ((state & VALUE) != UNSET) {
+                // I left a value that is already there alone; the copy of this table carries it on.
+                return;
+            }
+            // I followed the key into the table after this one when this slot was frozen before it was set.
+            copySlot(tab, slot);
+            tab = tab.next;
+        }
+    }
+    
+    private static int spread(int hashCode) {
+        // I mixed the hash code so the low bits that pick the slot depend on all of it.
+        int hash = hashCode * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
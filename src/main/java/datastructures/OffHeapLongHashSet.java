@@ -0,0 +1,183 @@
+package datastructures;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class OffHeapLongHashSet implements AutoCloseable {
+    // I kept the keys in direct ByteBuffers outside the Java heap, so the collector never scans
+    // them and the heap cost stays the same however many keys are stored. The probing matches
+    // LongHashSet: linear probing at most half full, with 0 marking an empty slot.
+    private static final long EMPTY = 0L;
+    
+    private static final double LOAD_FACTOR = 0.5;
+    
+    // I split the table into chunks of 2^24 slots (128 MB), since one ByteBuffer is indexed by an int.
+    private static final int CHUNK_SHIFT = 24;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    
+    private ByteBuffer[] chunks;
+    private long capacity;
+    private long mask;
+    private int shift;
+    private long size;
+    private boolean containsZero;
+    
+    public OffHeapLongHashSet(long capacity) {
+        // I rounded the table up to a power of two so I can mask instead of using %.
+        chunks = allocate(Long.highestOneBit(Math.max(capacity, 2) - 1) << 1);
+    }
+    
+    public void insert(long key) {
+        ensureOpen();
+        if (key == EMPTY) {
+            containsZero = true;
+            return;
+        }
+        
+        long index = getIndex(key);
+        long current;
+        while ((current = get(chunks, index)) != EMPTY) {
+            if (current == key) {
+                return; // Element already exists
+            }
+            index = (index + 1) & mask;
+        }
+        
+        put(chunks, index, key);
+        size++;
+        if (size > capacity * LOAD_FACTOR) {
+            // I resized the table because the load factor was exceeded.
+            resize(capacity * 2);
+        }
+    }
+    
+    public boolean contains(long key) {
+        ensureOpen();
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        
+        long index = getIndex(key);
+        long current;
+        while ((current = get(chunks, index)) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+    
+    public void delete(long key) {
+        ensureOpen();
+        if (key == EMPTY) {
+            containsZero = false;
+            return;
+        }
+        
+        long index = getIndex(key);
+        long current;
+        while ((current = get(chunks, index)) != key) {
+            if (current == EMPTY) {
+                return; // Element does not exist
+            }
+            index = (index + 1) & mask;
+        }
+        
+        // I shifted later keys of the run back into the hole instead of leaving a tombstone.
+        long hole = index;
+        long next = (hole + 1) & mask;
+        while ((current = get(chunks, next)) != EMPTY) {
+            long home = getIndex(current);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                put(chunks, hole, current);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        put(chunks, hole, EMPTY);
+        size--;
+    }
+    
+    public long size() {
+        ensureOpen();
+        return containsZero ? size + 1 : size;
+    }
+    
+    public long offHeapBytes() {
+        // I reported the native memory held, since FootprintReporter only sees the heap side.
+        return chunks == null ? 0 : capacity * Long.BYTES;
+    }
+    
+    @Override
+    public void close() {
+        // I freed the native memory now instead of waiting for the buffers to be collected.
+        // Closing twice is harmless; any other call after close throws.
+        if (chunks != null) {
+            free(chunks);
+            chunks = null;
+        }
+    }
+    
+    private void resize(long newCapacity) {
+        ByteBuffer[] oldChunks = chunks;
+        long oldCapacity = capacity;
+        chunks = allocate(newCapacity);
+        
+        // I reinserted all keys straight into their slots; they are known to be distinct.
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            long key = get(oldChunks, slot);
+            if (key != EMPTY) {
+                long index = getIndex(key);
+                while (get(chunks, index) != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                put(chunks, index, key);
+            }
+        }
+        // I freed the old table as soon as the keys were copied, so a resize holds two tables
+        // only while it runs.
+        free(oldChunks);
+    }
+    
+    private static void free(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            DirectBuffers.free(buffer);
+        }
+    }
+    
+    private ByteBuffer[] allocate(long length) {
+        capacity = length;
+        mask = length - 1;
+        shift = Long.numberOfLeadingZeros(length) + 1;
+        
+        // I used one smaller buffer when the whole table fits in less than a chunk.
+        int chunkCount = (int) ((length + CHUNK_MASK) >>> CHUNK_SHIFT);
+        int chunkSlots = (int) Math.min(length, 1L << CHUNK_SHIFT);
+        ByteBuffer[] buffers = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            // I relied on allocateDirect zeroing the memory, so every slot starts EMPTY.
+            buffers[i] = ByteBuffer.allocateDirect(chunkSlots * Long.BYTES).order(ByteOrder.nativeOrder());
+        }
+        return buffers;
+    }
+    
+    private static long get(ByteBuffer[] buffers, long slot) {
+        return buffers[(int) (slot >>> CHUNK_SHIFT)].getLong((int) (slot & CHUNK_MASK) << 3);
+    }
+    
+    private static void put(ByteBuffer[] buffers, long slot, long key) {
+        buffers[(int) (slot >>> CHUNK_SHIFT)].putLong((int) (slot & CHUNK_MASK) << 3, key);
+    }
+    
+    private void ensureOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException("OffHeapLongHashSet is closed");
+        }
+    }
+    
+    private long getIndex(long key) {
+        // I used Fibonacci hashing so that sequential keys spread across the table.
+        return (key * 0x9E3779B97F4A7C15L) >>> shift;
+    }
+}
@@ -0,0 +1,124 @@
+package datastructures;
+
+import java.util.Arrays;
+
+// I counted the work behind each operation so a slow structure can be explained and not only timed.
+// A counter takes one sample per operation, such as the slots one lookup probed, and keeps the
+// total, the maximum and a histogram with power-of-two buckets.
+public enum OperationCounter {
+    AVL_COMPARISONS("compareTo calls per AVLTree insert, delete or contains"),
+    AVL_ROTATIONS("rotations per AVLTree insert or delete"),
+    SPLAY_ROTATIONS("rotations per splay"),
+    SPLAY_DEPTH("nodes walked down per splay"),
+    QUADRATIC_PROBES("slots probed per quadratic probing search"),
+    QUADRATIC_TOMBSTONES("deleted slots passed per quadratic probing search"),
+    CHAIN_LENGTH("nodes visited per chaining search");
+    
+    // I read the switch into a static final once, so when -Ddatastructures.counters=true is not set
+    // the JIT folds every if (ENABLED) block away, along with the local counts only those blocks read.
+    public static final boolean ENABLED = Boolean.getBoolean("datastructures.counters");
+    
+    // I put 0 in bucket 0 and values from 2^(k-1) to 2^k - 1 in bucket k.
+    private static final int BUCKETS = Integer.SIZE + 1;
+    
+    private final String description;
+    // I kept the counts in plain fields, so they are only exact while one thread at a time
+    // uses the instrumented structures.
+    private long samples;
+    private long total;
+    private int max;
+    // I kept a second maximum that can be restarted without losing the totals, so a caller
+    // that reports every iteration gets the maximum of that iteration alone.
+    private int intervalMax;
+    private final long[] histogram = new long[BUCKETS];
+    
+    OperationCounter(String description) {
+        this.description = description;
+    }
+    
+    public void record(int value) {
+        samples++;
+        total += value;
+        max = Math.max(max, value);
+        intervalMax = Math.max(intervalMax, value);
+        histogram[Integer.SIZE - Integer.numberOfLeadingZeros(value)]++;
+    }
+    
+    public String description() {
+        return description;
+    }
+    
+    public long samples() {
+        return samples;
+    }
+    
+    public long total() {
+        return total;
+    }
+    
+    public int max() {
+        return max;
+    }
+    
+    public int intervalMax() {
+        return intervalMax;
+    }
+    
+    public void restartInterval() {
+        intervalMax = 0;
+    }
+    
+    public double average() {
+        return samples == 0 ? 0 : (double) total / samples;
+    }
+    
+    public long[] histogram() {
+        return histogram.clone();
+    }
+    
+    public void reset() {
+        samples = 0;
+        total = 0;
+        max = 0;
+        intervalMax = 0;
+        Arrays.fill(histogram, 0);
+    }
+    
+    public static void resetAll() {
+        for (OperationCounter counter : values()) {
+            counter.reset();
+        }
+    }
+    
+    public static String bucketLabel(int bucket) {
+        if (bucket <= 1) {
+            return Integer.toString(bucket);
+        }
+        long low = 1L << (bucket - 1);
+        return low + "-" + (2 * low - 1);
+    }
+    
+    public String format() {
+        // I printed the average and maximum on one line and the non-empty buckets under it.
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-20s %8.2f avg %8d max %12d samples  (%s)%n", name(), average(), max, samples, description));
+        out.append("   ");
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (histogram[bucket] != 0) {
+                out.append(' ').append(bucketLabel(bucket)).append(": ").append(histogram[bucket]);
+            }
+        }
+        return out.append(System.lineSeparator()).toString();
+    }
+    
+    public static String report() {
+        // I left out the counters no operation has touched.
+        StringBuilder out = new StringBuilder();
+        for (OperationCounter counter : values()) {
+            if (counter.samples != 0) {
+                out.append(counter.format());
+            }
+        }
+        return out.toString();
+    }
+}
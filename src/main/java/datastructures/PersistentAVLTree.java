@@ -0,0 +1,182 @@
+package datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+public class PersistentAVLTree<T extends Comparable<T>> {
+    // I made every node immutable. An update copies only the nodes on the path it changes and
+    // shares every other subtree with the versions before it.
+    private static final class Node<T> {
+        final T data;
+        final Node<T> left;
+        final Node<T> right;
+        final int height;
+        final int size;
+        
+        Node(T data, Node<T> left, Node<T> right) {
+            this.data = data;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+    
+    private static final VarHandle ROOT;
+    
+    static {
+        try {
+            ROOT = MethodHandles.lookup().findVarHandle(PersistentAVLTree.class, "root", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    // I published each new version with one volatile write, so a reader sees a whole version or the one before.
+    private volatile Node<T> root;
+    
+    public PersistentAVLTree() {
+    }
+    
+    private PersistentAVLTree(Node<T> root) {
+        this.root = root;
+    }
+    
+    public PersistentAVLTree<T> snapshot() {
+        // I shared the current root with the snapshot. Nodes never change, so this is O(1) and
+        // later updates to either tree cannot be seen by the other.
+        return new PersistentAVLTree<>(root);
+    }
+    
+    public void insert(T data) {
+        // I built the new version off to the side and swapped it in with a compare-and-set, retrying
+        // if another writer published first, so writers never block readers or each other.
+        while (true) {
+            Node<T> current = root;
+            Node<T> updated = insert(current, data);
+            if (updated == current || ROOT.compareAndSet(this, current, updated)) {
+                return;
+            }
+        }
+    }
+    
+    public void delete(T data) {
+        while (true) {
+            Node<T> current = root;
+            Node<T> updated = delete(current, data);
+            if (updated == current || ROOT.compareAndSet(this, current, updated)) {
+                return;
+            }
+        }
+    }
+    
+    public boolean contains(T data) {
+        // I read the root once and searched that version, which no writer can change under me.
+        Node<T> node = root;
+        while (node != null) {
+            int compareResult = data.compareTo(node.data);
+            if (compareResult < 0) {
+                node = node.left;
+            } else if (compareResult > 0) {
+                node = node.right;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public int size() {
+        return size(root);
+    }
+    
+    private Node<T> insert(Node<T> node, T data) {
+        if (node == null) {
+            return new Node<>(data, null, null);
+        }
+        
+        int compareResult = data.compareTo(node.data);
+        
+        if (compareResult < 0) {
+            Node<T> left = insert(node.left, data);
+            return left == node.left ? node : balance(node.data, left, node.right);
+        } else if (compareResult > 0) {
+            Node<T> right = insert(node.right, data);
+            return right == node.right ? node : balance(node.data, node.left, right);
+        }
+        // I returned the same node for a duplicate so the caller knows nothing changed.
+        return node;
+    }
+    
+    private Node<T> delete(Node<T> node, T data) {
+        if (node == null) {
+            return null;
+        }
+        
+        int compareResult = data.compareTo(node.data);
+        
+        if (compareResult < 0) {
+            Node<T> left = delete(node.left, data);
+            return left == node.left ? node : balance(node.data, left, node.right);
+        } else if (compareResult > 0) {
+            Node<T> right = delete(node.right, data);
+            return right == node.right ? node : balance(node.data, node.left, right);
+        }
+        
+        // I handled node with one or zero children.
+        if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+        
+        // I replaced the node with a copy holding its inorder successor, instead of overwriting its data.
+        Node<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.data, node.left, deleteMin(node.right));
+    }
+    
+    private Node<T> deleteMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.data, deleteMin(node.left), node.right);
+    }
+    
+    private Node<T> balance(T data, Node<T> left, Node<T> right) {
+        // I built the rotated shape directly out of new nodes, since the old ones cannot be changed.
+        int balance = height(left) - height(right);
+        
+        if (balance > 1) {
+            if (height(left.left) >= height(left.right)) {
+                // I handled Left Left Case.
+                return new Node<>(left.data, left.left, new Node<>(data, left.right, right));
+            }
+            // I handled Left Right Case.
+            Node<T> pivot = left.right;
+            return new Node<>(pivot.data, new Node<>(left.data, left.left, pivot.left), new Node<>(data, pivot.right, right));
+        }
+        
+        if (balance < -1) {
+            if (height(right.right) >= height(right.left)) {
+                // I handled Right Right Case.
+                return new Node<>(right.data, new Node<>(data, left, right.left), right.right);
+            }
+            // I handled Right Left Case.
+            Node<T> pivot = right.left;
+            return new Node<>(pivot.data, new Node<>(data, left, pivot.left), new Node<>(right.data, pivot.right, right.right));
+        }
+        
+        return new Node<>(data, left, right);
+    }
+    
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+    
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
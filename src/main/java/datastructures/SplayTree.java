@@ -0,0 +1,264 @@
+package datastructures;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SplayTree<T extends Comparable<T>> {
+    // I created this Node class to represent nodes in the Splay Tree.
+    private class Node {
+        T data;
+        Node left;
+        Node right;
+        
+        Node(T data) {
+            this.data = data;
+        }
+    }
+    
+    private Node root;
+    
+    // I reused this header node for every splay instead of allocating one per call.
+    private final Node header = new Node(null);
+    
+    public void insert(T data) {
+        if (root == null) {
+            // I created a new root node if the tree is empty.
+            root = new Node(data);
+            return;
+        }
+        
+        // I splayed the tree to bring the inserted node or its parent to the root.
+        root = splay(root, data);
+        
+        int compareResult = data.compareTo(root.data);
+        
+        if (compareResult == 0) {
+            // I handled duplicate data by returning without insertion.
+            return;
+        }
+        
+        Node newNode = new Node(data);
+        
+        if (compareResult < 0) {
+            // I set the new node as the root and linked the old root as its right child.
+            newNode.right = root;
+            newNode.left = root.left;
+            root.left = null;
+        } else {
+            // I set the new node as the root and linked the old root as its left child.
+            newNode.left = root;
+            newNode.right = root.right;
+            root.right = null;
+        }
+        
+        root = newNode;
+    }
+    
+    public void delete(T data) {
+        if (root == null) return;
+        
+        // I splayed the tree to bring the node to be deleted to the root.
+        root = splay(root, data);
+        
+        if (data.compareTo(root.data) != 0) {
+            // I returned if the key was not found.
+            return;
+        }
+        
+        // I handled the deletion when the key is found at the root.
+        if (root.left == null) {
+            root = root.right;
+        } else {
+            Node temp = root.right;
+            root = root.left;
+            // I found the maximum element in the left subtree.
+            root = splay(root, data);
+            // I linked the right subtree as the right child of the new root.
+            root.right = temp;
+        }
+    }
+    
+    public boolean contains(T data) {
+        if (root == null) return false;
+        
+        // I splayed the tree to bring the searched node or its parent to the root.
+        root = splay(root, data);
+        return data.compareTo(root.data) == 0;
+    }
+    
+    public static <T extends Comparable<T>> SplayTree<T> buildFromSorted(T[] sortedData) {
+        // I built a perfectly balanced tree in linear time. Inserting sorted keys one by one
+        // would leave the tree as a single path.
+        SplayTree<T> tree = new SplayTree<>();
+        tree.root = tree.linkSorted(sortedData);
+        return tree;
+    }
+    
+    private Node linkSorted(T[] sortedData) {
+        List<Node> nodes = new ArrayList<>(sortedData.length);
+        for (int i = 0; i < sortedData.length; i++) {
+            if (i > 0) {
+                int compareResult = sortedData[i - 1].compareTo(sortedData[i]);
+                if (compareResult > 0) {
+                    throw new IllegalArgumentException("Data is not sorted at index " + i);
+                } else if (compareResult == 0) {
+                    // I handled duplicate data by skipping it.
+                    continue;
+                }
+            }
+            nodes.add(new Node(sortedData[i]));
+        }
+        return link(nodes, 0, nodes.size());
+    }
+    
+    public void insertAll(T[] data) {
+        if (data.length == 0) {
+            return;
+        }
+        T[] batch = data.clone();
+        Arrays.sort(batch);
+        
+        // I merged the batch into the tree's nodes in order and relinked them all as a balanced
+        // tree, reusing the existing nodes so only the new keys allocate. A splay tree keeps no
+        // size, so unlike AVLTree I always merged; the walk is linear either way.
+        List<Node> nodes = new ArrayList<>(batch.length);
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        int next = 0;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            while (next < batch.length && batch[next].compareTo(node.data) <= 0) {
+                appendNew(nodes, batch[next++], node.data);
+            }
+            nodes.add(node);
+            node = node.right;
+        }
+        while (next < batch.length) {
+            appendNew(nodes, batch[next++], null);
+        }
+        root = link(nodes, 0, nodes.size());
+    }
+    
+    private void appendNew(List<Node> nodes, T data, T following) {
+        // I skipped keys already in the tree and repeats within the batch.
+        if (following != null && data.compareTo(following) == 0) {
+            return;
+        }
+        if (!nodes.isEmpty() && data.compareTo(nodes.get(nodes.size() - 1).data) == 0) {
+            return;
+        }
+        nodes.add(new Node(data));
+    }
+    
+    private Node link(List<Node> nodes, int low, int high) {
+        // I made the middle node the root of each range.
+        if (low >= high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        Node node = nodes.get(mid);
+        node.left = link(nodes, low, mid);
+        node.right = link(nodes, mid + 1, high);
+        return node;
+    }
+    
+    private Node splay(Node root, T data) {
+        // I splayed top-down in one pass, in the Sleator-Tarjan style. Nodes smaller than the key
+        // are hung on a left tree and larger ones on a right tree while I walk down, so the stack
+        // depth stays constant even when the tree has degenerated into a path.
+        if (root == null) {
+            return null;
+        }
+        
+        // I kept the roots of both side trees in the reusable header: header.right holds the
+        // left tree and header.left holds the right tree.
+        Node leftMax = header;
+        Node rightMin = header;
+        Node current = root;
+        int depth = 0;
+        int rotations = 0;
+        
+        while (true) {
+            int compareResult = data.compareTo(current.data);
+            
+            if (compareResult < 0) {
+                if (current.left == null) {
+                    break;
+                }
+                if (data.compareTo(current.left.data) < 0) {
+                    // I performed Zig-Zig (left-left) rotation before linking.
+                    current = rightRotate(current);
+                    depth++;
+                    rotations++;
+                    if (current.left == null) {
+                        break;
+                    }
+                }
+                // I linked the current node into the right tree and went left.
+                rightMin.left = current;
+                rightMin = current;
+                current = current.left;
+                depth++;
+            } else if (compareResult > 0) {
+                if (current.right == null) {
+                    break;
+                }
+                if (data.compareTo(current.right.data) > 0) {
+                    // I performed Zag-Zag (right-right) rotation before linking.
+                    current = leftRotate(current);
+                    depth++;
+                    rotations++;
+                    if (current.right == null) {
+                        break;
+                    }
+                }
+                // I linked the current node into the left tree and went right.
+                leftMax.right = current;
+                leftMax = current;
+                current = current.right;
+                depth++;
+            } else {
+                break;
+            }
+        }
+        
+        // I reassembled the side trees under the node I stopped at.
+        leftMax.right = current.left;
+        rightMin.left = current.right;
+        current.left = header.right;
+        current.right = header.left;
+        
+        // I cleared the header so it does not keep nodes reachable between calls.
+        header.left = null;
+        header.right = null;
+        
+        // I counted the levels walked down to the node I stopped at and the rotations on the way.
+        if (OperationCounter.ENABLED) {
+            OperationCounter.SPLAY_DEPTH.record(depth);
+            OperationCounter.SPLAY_ROTATIONS.record(rotations);
+        }
+        return current;
+    }
+    
+    private Node rightRotate(Node y) {
+        // I performed right rotation.
+        Node x = y.left;
+        y.left = x.right;
+        x.right = y;
+        return x;
+    }
+    
+    private Node leftRotate(Node x) {
+        // I performed left rotation.
+        Node y = x.right;
+        x.right = y.left;
+        y.left = x;
+        return y;
+    }
+}
@@ -0,0 +1,51 @@
+package datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+// I compared a group as two little-endian longs, eight control bytes per word ("SIMD within a register").
+final class SwarGroupMatcher implements GroupMatcher {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    
+    @Override
+    public int match(byte[] control, int offset, byte fingerprint) {
+        long pattern = LOW_BITS * (fingerprint & 0xFF);
+        return compress(zeroBytes((long) LONGS.get(control, offset) ^ pattern))
+                | compress(zeroBytes((long) LONGS.get(control, offset + 8) ^ pattern)) << 8;
+    }
+    
+    @Override
+    public boolean hasEmpty(byte[] control, int offset) {
+        return (empty((long) LONGS.get(control, offset)) | empty((long) LONGS.get(control, offset + 8))) != 0;
+    }
+    
+    @Override
+    public int firstEmptyOrDeleted(byte[] control, int offset) {
+        // I relied on empty and deleted being the only control bytes with the high bit set.
+        long free = (long) LONGS.get(control, offset) & HIGH_BITS;
+        if (free != 0) {
+            return Long.numberOfTrailingZeros(free) >>> 3;
+        }
+        free = (long) LONGS.get(control, offset + 8) & HIGH_BITS;
+        return free != 0 ? 8 + (Long.numberOfTrailingZeros(free) >>> 3) : -1;
+    }
+    
+    private static long zeroBytes(long word) {
+        // I set the high bit of exactly the zero bytes, with no borrow between bytes.
+        return ~(((word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | word | LOW_SEVEN_BITS);
+    }
+    
+    private static long empty(long word) {
+        // I kept bytes with the high bit set and bit 1 clear, which only EMPTY (0x80) has.
+        return word & ~(word << 6) & HIGH_BITS;
+    }
+    
+    private static int compress(long highBits) {
+        // I gathered the high bit of each byte into the low eight bits.
+        return (int) (((highBits >>> 7) * 0x0102040810204080L) >>> 56);
+    }
+}
@@ -0,0 +1,45 @@
+package datastructures;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+// I compared a whole 16-byte group in one vector instruction. GroupMatcher.select only loads
+// this class when the jdk.incubator.vector module is present.
+final class VectorGroupMatcher implements GroupMatcher {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_128;
+    
+    @Override
+    public int match(byte[] control, int offset, byte fingerprint) {
+        // I avoided VectorMask.toLong, which JDK 17 does not compile to a single instruction,
+        // and built the bit mask from firstTrue since a group rarely has more than one match.
+        VectorMask<Byte> matches = ByteVector.fromArray(SPECIES, control, offset).eq(fingerprint);
+        int count = matches.trueCount();
+        if (count == 0) {
+            return 0;
+        }
+        int first = matches.firstTrue();
+        if (count == 1) {
+            return 1 << first;
+        }
+        int bits = 0;
+        for (int i = first; i < GROUP_SIZE; i++) {
+            if (control[offset + i] == fingerprint) {
+                bits |= 1 << i;
+            }
+        }
+        return bits;
+    }
+    
+    @Override
+    public boolean hasEmpty(byte[] control, int offset) {
+        return ByteVector.fromArray(SPECIES, control, offset).eq(HashTables.CONTROL_EMPTY).anyTrue();
+    }
+    
+    @Override
+    public int firstEmptyOrDeleted(byte[] control, int offset) {
+        // I relied on empty and deleted being the only negative control bytes.
+        int first = ByteVector.fromArray(SPECIES, control, offset).lt((byte) 0).firstTrue();
+        return first < GROUP_SIZE ? first : -1;
+    }
+}
@@ -0,0 +1,10 @@
+package datastructures.benchmark;
+
+// I created this interface so every structure can be driven by the same benchmark code.
+public interface BenchmarkSet {
+    void insert(int key);
+
+    boolean contains(int key);
+
+    void delete(int key);
+}
@@ -0,0 +1,135 @@
+package datastructures.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import datastructures.AVLTree;
+import datastructures.SplayTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// I timed how long a tree takes to start up from sorted keys, one insert at a time against
+// buildFromSorted, and how a shuffled batch merges into a half-full tree with insertAll.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class BulkLoadBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"AVL_TREE", "SPLAY_TREE"})
+    public Structure structure;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private Integer[] sorted;
+    private Integer[] evens;
+    private Integer[] odds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (structure != Structure.AVL_TREE && structure != Structure.SPLAY_TREE) {
+            throw new IllegalArgumentException("Only trees have a bulk load: " + structure);
+        }
+
+        // I boxed the keys up front so the timings do not include boxing.
+        sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+        }
+
+        // I split the keys into a sorted half already in the tree and a shuffled half to add.
+        evens = new Integer[size / 2];
+        odds = new Integer[size / 2];
+        int[] order = Workload.UNIQUE.generate(size / 2, SEED);
+        for (int i = 0; i < size / 2; i++) {
+            evens[i] = 2 * i;
+            odds[i] = 2 * order[i] + 1;
+        }
+    }
+
+    @Benchmark
+    public Object insertSorted() {
+        if (structure == Structure.AVL_TREE) {
+            AVLTree<Integer> tree = new AVLTree<>();
+            for (Integer key : sorted) {
+                tree.insert(key);
+            }
+            return tree;
+        }
+        SplayTree<Integer> tree = new SplayTree<>();
+        for (Integer key : sorted) {
+            tree.insert(key);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    public Object buildFromSorted() {
+        if (structure == Structure.AVL_TREE) {
+            return AVLTree.buildFromSorted(sorted);
+        }
+        return SplayTree.buildFromSorted(sorted);
+    }
+
+    // I rebuilt the half-full tree before every batch iteration because the batch changes it.
+    @State(Scope.Thread)
+    public static class HalfFull {
+        AVLTree<Integer> avlTree;
+        SplayTree<Integer> splayTree;
+
+        @Setup(Level.Iteration)
+        public void setUp(BulkLoadBenchmark benchmark) {
+            if (benchmark.structure == Structure.AVL_TREE) {
+                avlTree = AVLTree.buildFromSorted(benchmark.evens);
+            } else {
+                splayTree = SplayTree.buildFromSorted(benchmark.evens);
+            }
+        }
+    }
+
+    // I timed every batch as one single shot, so the rebuild stays in the iteration setup,
+    // outside the measurement.
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 20)
+    public Object insertBatchOneByOne(HalfFull halfFull) {
+        if (structure == Structure.AVL_TREE) {
+            for (Integer key : odds) {
+                halfFull.avlTree.insert(key);
+            }
+            return halfFull.avlTree;
+        }
+        for (Integer key : odds) {
+            halfFull.splayTree.insert(key);
+        }
+        return halfFull.splayTree;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 20)
+    public Object insertAll(HalfFull halfFull) {
+        if (structure == Structure.AVL_TREE) {
+            halfFull.avlTree.insertAll(odds);
+            return halfFull.avlTree;
+        }
+        halfFull.splayTree.insertAll(odds);
+        return halfFull.splayTree;
+    }
+}
@@ -0,0 +1,92 @@
+package datastructures.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// I measured throughput of one shared set under a read/write mix. The thread count comes from
+// JMH's -t option; ThreadScalingRunner repeats the run for 1, 2, 4, ... N threads.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ConcurrentSetBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"LOCKED_HASH_CHAINING", "STRIPED_HASH_CHAINING", "LOCKED_HASH_QUADRATIC", "LOCKED_HASH_SWISS",
+            "LOCKED_HASH_CUCKOO", "LOCKED_INT_HASH_SET", "LOCKED_LONG_HASH_SET", "LOCKED_OFF_HEAP_LONG_HASH_SET",
+            "LOCK_FREE_HASH_PROBING", "LOCKED_AVL_TREE", "LOCKED_INT_AVL_TREE", "PERSISTENT_AVL_TREE", "CONCURRENT_AVL_TREE",
+            "LOCKED_SPLAY_TREE", "LOCKED_B_PLUS_TREE"})
+    public SharedStructure structure;
+
+    @Param({"100000"})
+    public int size;
+
+    // I expressed the mix as the percentage of operations that are lookups.
+    @Param({"90"})
+    public int readPercent;
+
+    private BenchmarkSet set;
+    private int keyRange;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // I filled half of a key range twice the size, so inserts and deletes both find work.
+        keyRange = size * 2;
+        set = structure.create();
+        for (int key : Workload.UNIQUE.generate(keyRange, SEED)) {
+            if ((key & 1) == 0) {
+                set.insert(key);
+            }
+        }
+    }
+
+    // I gave every thread its own random stream so threads never share a generator.
+    @State(Scope.Thread)
+    public static class ThreadKeys {
+        private int seed;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            seed = (int) (Thread.currentThread().getId() * 0x9E3779B9L) | 1;
+        }
+
+        int next() {
+            // I used xorshift because it costs a few instructions and allocates nothing.
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            return seed;
+        }
+    }
+
+    @Benchmark
+    public boolean mixed(ThreadKeys keys) {
+        int random = keys.next();
+        int key = (random >>> 8) % keyRange;
+        int roll = (random & 0xFF) * 100 >>> 8;
+        if (roll < readPercent) {
+            return set.contains(key);
+        }
+        // I split writes evenly between inserts and deletes so the size stays steady.
+        if ((roll & 1) == 0) {
+            set.insert(key);
+        } else {
+            set.delete(key);
+        }
+        return false;
+    }
+}
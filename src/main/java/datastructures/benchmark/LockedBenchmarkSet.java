@@ -0,0 +1,25 @@
+package datastructures.benchmark;
+
+// I wrapped a single-threaded structure behind one global lock, the way production fronts it today.
+final class LockedBenchmarkSet implements BenchmarkSet {
+    private final BenchmarkSet set;
+
+    LockedBenchmarkSet(BenchmarkSet set) {
+        this.set = set;
+    }
+
+    @Override
+    public synchronized void insert(int key) {
+        set.insert(key);
+    }
+
+    @Override
+    public synchronized boolean contains(int key) {
+        return set.contains(key);
+    }
+
+    @Override
+    public synchronized void delete(int key) {
+        set.delete(key);
+    }
+}
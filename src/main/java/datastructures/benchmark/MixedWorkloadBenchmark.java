@@ -0,0 +1,95 @@
+package datastructures.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// I replayed a pre-generated stream of lookups, inserts and deletes against one structure, so the
+// read/write mix can be varied on top of every key workload.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class MixedWorkloadBenchmark {
+    private static final long SEED = 42;
+
+    private static final byte CONTAINS = 0;
+    private static final byte INSERT = 1;
+    private static final byte DELETE = 2;
+
+    @Param({"AVL_TREE", "INT_AVL_TREE", "PERSISTENT_AVL_TREE", "SPLAY_TREE", "B_PLUS_TREE", "HASH_CHAINING", "HASH_QUADRATIC", "HASH_SWISS", "HASH_CUCKOO",
+            "INT_HASH_SET", "LONG_HASH_SET", "OFF_HEAP_LONG_HASH_SET"})
+    public Structure structure;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"UNIFORM", "UNIQUE", "ZIPFIAN", "ASCENDING", "DESCENDING", "HOT_SET_SHIFT", "COLLIDING"})
+    public Workload workload;
+
+    @Param({"0.99"})
+    public double zipfExponent;
+
+    // I expressed the mix as the percentage of operations that are lookups.
+    @Param({"50", "90", "99"})
+    public int readPercent;
+
+    private BenchmarkSet set;
+    private int[] keys;
+    private byte[] operations;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // I filled the structure from the same workload with another seed, so lookups hit and miss
+        // in the proportions that workload produces.
+        set = structure.create();
+        for (int key : workload.generate(size, SEED + 1, zipfExponent)) {
+            set.insert(key);
+        }
+
+        // I split writes evenly between inserts and deletes so the size stays steady.
+        keys = workload.generate(size, SEED, zipfExponent);
+        operations = new byte[size];
+        Random random = new Random(SEED);
+        for (int i = 0; i < size; i++) {
+            if (random.nextInt(100) < readPercent) {
+                operations[i] = CONTAINS;
+            } else {
+                operations[i] = random.nextBoolean() ? INSERT : DELETE;
+            }
+        }
+        cursor = 0;
+    }
+
+    @Benchmark
+    public boolean mixed() {
+        int i = cursor;
+        cursor = i + 1 == keys.length ? 0 : i + 1;
+        int key = keys[i];
+        switch (operations[i]) {
+            case INSERT:
+                set.insert(key);
+                return false;
+            case DELETE:
+                set.delete(key);
+                return false;
+            default:
+                return set.contains(key);
+        }
+    }
+}
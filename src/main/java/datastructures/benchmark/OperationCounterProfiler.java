@@ -0,0 +1,103 @@
+package datastructures.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import datastructures.OperationCounter;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.ExternalProfiler;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jmh.results.TextResult;
+import org.openjdk.jmh.runner.IterationType;
+
+// I reported the OperationCounter averages and histograms next to the timings. Run any benchmark
+// with -prof datastructures.benchmark.OperationCounterProfiler; the profiler turns the counters
+// on in the forked JVM, and they stay compiled out in runs without it.
+public class OperationCounterProfiler implements InternalProfiler, ExternalProfiler {
+    private final long[] samplesBefore = new long[OperationCounter.values().length];
+    private final long[] totalBefore = new long[OperationCounter.values().length];
+    private int measuredIterations;
+
+    @Override
+    public String getDescription() {
+        return "Per-operation comparisons, rotations, probes and chain lengths from OperationCounter";
+    }
+
+    @Override
+    public Collection<String> addJVMInvokeOptions(BenchmarkParams params) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Collection<String> addJVMOptions(BenchmarkParams params) {
+        return Collections.singletonList("-Ddatastructures.counters=true");
+    }
+
+    @Override
+    public void beforeTrial(BenchmarkParams params) {
+    }
+
+    @Override
+    public Collection<? extends Result<?>> afterTrial(BenchmarkResult result, long pid, File stdOut, File stdErr) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean allowPrintOut() {
+        return true;
+    }
+
+    @Override
+    public boolean allowPrintErr() {
+        return true;
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        // I threw away what setup and warmup counted, then kept counting across the measured
+        // iterations so the histograms cover all of them.
+        if (iterationParams.getType() == IterationType.WARMUP || measuredIterations == 0) {
+            OperationCounter.resetAll();
+        }
+        for (OperationCounter counter : OperationCounter.values()) {
+            samplesBefore[counter.ordinal()] = counter.samples();
+            totalBefore[counter.ordinal()] = counter.total();
+            counter.restartInterval();
+        }
+    }
+
+    @Override
+    public Collection<? extends Result<?>> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+            IterationResult result) {
+        if (iterationParams.getType() != IterationType.MEASUREMENT) {
+            return Collections.emptyList();
+        }
+        // I reported the average and maximum of this iteration alone in every measured iteration,
+        // since JMH averages in a zero for any iteration that leaves a result out.
+        List<Result<?>> results = new ArrayList<>();
+        for (OperationCounter counter : OperationCounter.values()) {
+            long samples = counter.samples() - samplesBefore[counter.ordinal()];
+            if (samples != 0) {
+                String label = "counter." + counter.name().toLowerCase(Locale.ROOT);
+                double average = (double) (counter.total() - totalBefore[counter.ordinal()]) / samples;
+                results.add(new ScalarResult(label + ".avg", average, "#/op", AggregationPolicy.AVG));
+                results.add(new ScalarResult(label + ".max", counter.intervalMax(), "#", AggregationPolicy.MAX));
+            }
+        }
+        // I printed the histograms once, after the last measured iteration.
+        if (++measuredIterations == iterationParams.getCount() && !results.isEmpty()) {
+            results.add(new TextResult(OperationCounter.report(), "counters"));
+        }
+        return results;
+    }
+}
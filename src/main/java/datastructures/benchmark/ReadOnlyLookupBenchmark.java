@@ -0,0 +1,87 @@
+package datastructures.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import datastructures.AVLTree;
+import datastructures.EytzingerTree;
+import datastructures.SplayTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// I compared lookups in a tree that no longer changes: AVLTree and SplayTree as they are, and
+// the AVLTree frozen into an EytzingerTree. All three hold the same keys and see the same lookups,
+// about half of which miss.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ReadOnlyLookupBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Integer[] lookups;
+    private AVLTree<Integer> avlTree;
+    private SplayTree<Integer> splayTree;
+    private EytzingerTree<Integer> eytzingerTree;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // I stored the even numbers below 2 * size, so odd lookups miss.
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = 2 * i;
+        }
+        avlTree = AVLTree.buildFromSorted(sorted);
+        splayTree = SplayTree.buildFromSorted(sorted);
+        eytzingerTree = avlTree.toEytzinger();
+
+        // I boxed the lookups up front so the timings do not include boxing.
+        int[] keys = Workload.UNIFORM.generate(size, SEED);
+        lookups = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            lookups[i] = keys[i] % (2 * size);
+        }
+        cursor = 0;
+    }
+
+    private Integer nextLookup() {
+        Integer key = lookups[cursor];
+        cursor = cursor + 1 == lookups.length ? 0 : cursor + 1;
+        return key;
+    }
+
+    @Benchmark
+    public boolean avlTreeContains() {
+        return avlTree.contains(nextLookup());
+    }
+
+    @Benchmark
+    public boolean splayTreeContains() {
+        return splayTree.contains(nextLookup());
+    }
+
+    @Benchmark
+    public boolean eytzingerContains() {
+        return eytzingerTree.contains(nextLookup());
+    }
+
+    @Benchmark
+    public Integer eytzingerLowerBound() {
+        return eytzingerTree.lowerBound(nextLookup());
+    }
+}
@@ -0,0 +1,106 @@
+package datastructures.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import datastructures.AVLTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// I compared the join-based union, intersection and difference of AVLTree with the old way of
+// walking one key set and calling insert, contains or delete on the other tree. The join-based
+// versions fork on the common ForkJoinPool; set -Djava.util.concurrent.ForkJoinPool.common.parallelism
+// through -jvmArgsAppend to vary the number of workers.
+// I timed every operation as one single shot per iteration, so rebuilding the trees it consumes
+// stays in the iteration setup, outside the measurement.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(3)
+@State(Scope.Thread)
+public class SetAlgebraBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    // I used multiples of 2 and multiples of 3 so a third of each set overlaps the other.
+    private Integer[] first;
+    private Integer[] second;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        first = new Integer[size];
+        second = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            first[i] = 2 * i;
+            second[i] = 3 * i;
+        }
+    }
+
+    // I rebuilt both trees before every iteration because the set operations consume them.
+    @State(Scope.Thread)
+    public static class Trees {
+        AVLTree<Integer> first;
+        AVLTree<Integer> second;
+
+        @Setup(Level.Iteration)
+        public void setUp(SetAlgebraBenchmark benchmark) {
+            first = AVLTree.buildFromSorted(benchmark.first);
+            second = AVLTree.buildFromSorted(benchmark.second);
+        }
+    }
+
+    @Benchmark
+    public AVLTree<Integer> union(Trees trees) {
+        trees.first.union(trees.second);
+        return trees.first;
+    }
+
+    @Benchmark
+    public AVLTree<Integer> unionByInsert(Trees trees) {
+        for (Integer key : second) {
+            trees.first.insert(key);
+        }
+        return trees.first;
+    }
+
+    @Benchmark
+    public AVLTree<Integer> intersection(Trees trees) {
+        trees.first.intersection(trees.second);
+        return trees.first;
+    }
+
+    @Benchmark
+    public AVLTree<Integer> intersectionByContains(Trees trees) {
+        AVLTree<Integer> result = new AVLTree<>();
+        for (Integer key : first) {
+            if (trees.second.contains(key)) {
+                result.insert(key);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public AVLTree<Integer> difference(Trees trees) {
+        trees.first.difference(trees.second);
+        return trees.first;
+    }
+
+    @Benchmark
+    public AVLTree<Integer> differenceByDelete(Trees trees) {
+        for (Integer key : second) {
+            trees.first.delete(key);
+        }
+        return trees.first;
+    }
+}
@@ -0,0 +1,120 @@
+package datastructures.benchmark;
+
+import datastructures.ConcurrentAVLTree;
+import datastructures.ConcurrentHashTables;
+import datastructures.LockFreeHashTables;
+
+// I listed the structures that many threads can share, each with a factory for an empty instance.
+// The LOCKED_ ones are single-threaded structures behind one global lock, as the baseline for the
+// structures built for concurrency.
+public enum SharedStructure {
+    LOCKED_HASH_CHAINING {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.HASH_CHAINING.create());
+        }
+    },
+    STRIPED_HASH_CHAINING {
+        @Override
+        public BenchmarkSet create() {
+            ConcurrentHashTables<Integer> table = new ConcurrentHashTables<>(Structure.HASH_TABLE_INITIAL_CAPACITY);
+            return new BenchmarkSet() {
+                public void insert(int key) { table.insert(key); }
+                public boolean contains(int key) { return table.contains(key); }
+                public void delete(int key) { table.delete(key); }
+            };
+        }
+    },
+    LOCKED_HASH_QUADRATIC {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.HASH_QUADRATIC.create());
+        }
+    },
+    LOCKED_HASH_SWISS {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.HASH_SWISS.create());
+        }
+    },
+    LOCKED_HASH_CUCKOO {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.HASH_CUCKOO.create());
+        }
+    },
+    LOCKED_INT_HASH_SET {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.INT_HASH_SET.create());
+        }
+    },
+    LOCKED_LONG_HASH_SET {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.LONG_HASH_SET.create());
+        }
+    },
+    LOCKED_OFF_HEAP_LONG_HASH_SET {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.OFF_HEAP_LONG_HASH_SET.create());
+        }
+    },
+    LOCK_FREE_HASH_PROBING {
+        @Override
+        public BenchmarkSet create() {
+            LockFreeHashTables<Integer> table = new LockFreeHashTables<>(Structure.HASH_TABLE_INITIAL_CAPACITY);
+            return new BenchmarkSet() {
+                public void insert(int key) { table.insert(key); }
+                public boolean contains(int key) { return table.contains(key); }
+                public void delete(int key) { table.delete(key); }
+            };
+        }
+    },
+    LOCKED_AVL_TREE {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.AVL_TREE.create());
+        }
+    },
+    LOCKED_INT_AVL_TREE {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.INT_AVL_TREE.create());
+        }
+    },
+    PERSISTENT_AVL_TREE {
+        @Override
+        public BenchmarkSet create() {
+            // I shared it without a lock, since writers publish new versions with a compare-and-set.
+            return Structure.PERSISTENT_AVL_TREE.create();
+        }
+    },
+    CONCURRENT_AVL_TREE {
+        @Override
+        public BenchmarkSet create() {
+            ConcurrentAVLTree<Integer> tree = new ConcurrentAVLTree<>();
+            return new BenchmarkSet() {
+                public void insert(int key) { tree.insert(key); }
+                public boolean contains(int key) { return tree.contains(key); }
+                public void delete(int key) { tree.delete(key); }
+            };
+        }
+    },
+    LOCKED_SPLAY_TREE {
+        @Override
+        public BenchmarkSet create() {
+            // I locked lookups too, since a splay tree restructures itself on every contains.
+            return new LockedBenchmarkSet(Structure.SPLAY_TREE.create());
+        }
+    },
+    LOCKED_B_PLUS_TREE {
+        @Override
+        public BenchmarkSet create() {
+            return new LockedBenchmarkSet(Structure.B_PLUS_TREE.create());
+        }
+    };
+
+    public abstract BenchmarkSet create();
+}
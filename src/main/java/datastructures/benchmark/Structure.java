@@ -0,0 +1,142 @@
+package datastructures.benchmark;
+
+import datastructures.AVLTree;
+import datastructures.BPlusTree;
+import datastructures.HashTables;
+import datastructures.IntAVLTree;
+import datastructures.IntHashSet;
+import datastructures.LongHashSet;
+import datastructures.OffHeapLongHashSet;
+import datastructures.PersistentAVLTree;
+import datastructures.SplayTree;
+
+// I listed every structure the benchmarks compare, each with a factory for an empty instance.
+public enum Structure {
+    AVL_TREE {
+        @Override
+        public BenchmarkSet create() {
+            AVLTree<Integer> tree = new AVLTree<>();
+            return new BenchmarkSet() {
+                public void insert(int key) { tree.insert(key); }
+                public boolean contains(int key) { return tree.contains(key); }
+                public void delete(int key) { tree.delete(key); }
+            };
+        }
+    },
+    INT_AVL_TREE {
+        @Override
+        public BenchmarkSet create() {
+            IntAVLTree tree = new IntAVLTree();
+            return new BenchmarkSet() {
+                public void insert(int key) { tree.insert(key); }
+                public boolean contains(int key) { return tree.contains(key); }
+                public void delete(int key) { tree.delete(key); }
+            };
+        }
+    },
+    PERSISTENT_AVL_TREE {
+        @Override
+        public BenchmarkSet create() {
+            PersistentAVLTree<Integer> tree = new PersistentAVLTree<>();
+            return new BenchmarkSet() {
+                public void insert(int key) { tree.insert(key); }
+                public boolean contains(int key) { return tree.contains(key); }
+                public void delete(int key) { tree.delete(key); }
+            };
+        }
+    },
+    SPLAY_TREE {
+        @Override
+        public BenchmarkSet create() {
+            SplayTree<Integer> tree = new SplayTree<>();
+            return new BenchmarkSet() {
+                public void insert(int key) { tree.insert(key); }
+                public boolean contains(int key) { return tree.contains(key); }
+                public void delete(int key) { tree.delete(key); }
+            };
+        }
+    },
+    B_PLUS_TREE {
+        @Override
+        public BenchmarkSet create() {
+            BPlusTree<Integer> tree = new BPlusTree<>();
+            return new BenchmarkSet() {
+                public void insert(int key) { tree.insert(key); }
+                public boolean contains(int key) { return tree.contains(key); }
+                public void delete(int key) { tree.delete(key); }
+            };
+        }
+    },
+    HASH_CHAINING {
+        @Override
+        public BenchmarkSet create() {
+            return hashTable(HashTables.CHAINING);
+        }
+    },
+    HASH_QUADRATIC {
+        @Override
+        public BenchmarkSet create() {
+            return hashTable(HashTables.QUADRATIC_PROBING);
+        }
+    },
+    HASH_SWISS {
+        @Override
+        public BenchmarkSet create() {
+            return hashTable(HashTables.SWISS_TABLE);
+        }
+    },
+    HASH_CUCKOO {
+        @Override
+        public BenchmarkSet create() {
+            return hashTable(HashTables.CUCKOO);
+        }
+    },
+    INT_HASH_SET {
+        @Override
+        public BenchmarkSet create() {
+            IntHashSet set = new IntHashSet(HASH_TABLE_INITIAL_CAPACITY);
+            return new BenchmarkSet() {
+                public void insert(int key) { set.insert(key); }
+                public boolean contains(int key) { return set.contains(key); }
+                public void delete(int key) { set.delete(key); }
+            };
+        }
+    },
+    LONG_HASH_SET {
+        @Override
+        public BenchmarkSet create() {
+            LongHashSet set = new LongHashSet(HASH_TABLE_INITIAL_CAPACITY);
+            return new BenchmarkSet() {
+                public void insert(int key) { set.insert(key); }
+                public boolean contains(int key) { return set.contains(key); }
+                public void delete(int key) { set.delete(key); }
+            };
+        }
+    },
+    OFF_HEAP_LONG_HASH_SET {
+        @Override
+        public BenchmarkSet create() {
+            // I left freeing the native memory to the buffers' cleaner here, since a BenchmarkSet has no close.
+            OffHeapLongHashSet set = new OffHeapLongHashSet(HASH_TABLE_INITIAL_CAPACITY);
+            return new BenchmarkSet() {
+                public void insert(int key) { set.insert(key); }
+                public boolean contains(int key) { return set.contains(key); }
+                public void delete(int key) { set.delete(key); }
+            };
+        }
+    };
+
+    // I used the same starting capacity as DataStructurePerformanceTest so the numbers are comparable.
+    static final int HASH_TABLE_INITIAL_CAPACITY = 16;
+
+    public abstract BenchmarkSet create();
+
+    private static BenchmarkSet hashTable(int collisionMethod) {
+        HashTables<Integer> table = new HashTables<>(HASH_TABLE_INITIAL_CAPACITY, collisionMethod);
+        return new BenchmarkSet() {
+            public void insert(int key) { table.insert(key); }
+            public boolean contains(int key) { return table.contains(key); }
+            public void delete(int key) { table.delete(key); }
+        };
+    }
+}
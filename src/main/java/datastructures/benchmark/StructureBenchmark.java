@@ -0,0 +1,101 @@
+package datastructures.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// I replaced the single nanoTime passes of DataStructurePerformanceTest with this JMH suite.
+// insert and delete time a whole pass over the keys, contains times one lookup.
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class StructureBenchmark {
+    // I used the same seed as DataStructurePerformanceTest so every fork sees the same keys.
+    private static final long SEED = 42;
+
+    @Param({"AVL_TREE", "INT_AVL_TREE", "PERSISTENT_AVL_TREE", "SPLAY_TREE", "B_PLUS_TREE", "HASH_CHAINING", "HASH_QUADRATIC", "HASH_SWISS", "HASH_CUCKOO",
+            "INT_HASH_SET", "LONG_HASH_SET", "OFF_HEAP_LONG_HASH_SET"})
+    public Structure structure;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"UNIFORM", "UNIQUE", "ZIPFIAN", "ASCENDING", "DESCENDING", "HOT_SET_SHIFT", "COLLIDING"})
+    public Workload workload;
+
+    // I only used the exponent for the ZIPFIAN workload; higher values make the hot keys hotter.
+    @Param({"0.99"})
+    public double zipfExponent;
+
+    private int[] keys;
+    private BenchmarkSet populated;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = workload.generate(size, SEED, zipfExponent);
+        populated = fill(structure.create());
+        cursor = 0;
+    }
+
+    private BenchmarkSet fill(BenchmarkSet set) {
+        for (int key : keys) {
+            set.insert(key);
+        }
+        return set;
+    }
+
+    // I rebuilt the structure before every delete iteration because the pass empties it.
+    @State(Scope.Thread)
+    public static class Filled {
+        BenchmarkSet set;
+
+        @Setup(Level.Iteration)
+        public void setUp(StructureBenchmark benchmark) {
+            set = benchmark.fill(benchmark.structure.create());
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void insert(Blackhole blackhole) {
+        blackhole.consume(fill(structure.create()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void contains(Blackhole blackhole) {
+        int key = keys[cursor];
+        cursor = cursor + 1 == keys.length ? 0 : cursor + 1;
+        blackhole.consume(populated.contains(key));
+    }
+
+    // I timed every delete pass as one single shot, so the refill stays in the iteration setup,
+    // outside the measurement, and each pass is one sample behind the error bars.
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 50)
+    @Measurement(iterations = 50)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void delete(Filled filled, Blackhole blackhole) {
+        BenchmarkSet set = filled.set;
+        for (int key : keys) {
+            set.delete(key);
+        }
+        blackhole.consume(set);
+    }
+}
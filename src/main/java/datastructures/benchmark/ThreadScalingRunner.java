@@ -0,0 +1,80 @@
+package datastructures.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// I ran a throughput benchmark at 1, 2, 4, ... N threads and printed how well each structure scales.
+// Arguments are ordinary JMH options, e.g. "ConcurrentSetBenchmark -p readPercent=50 -f 1",
+// and -t sets N, which otherwise defaults to the number of available processors.
+public class ThreadScalingRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        int maxThreads = commandLine.getThreads().orElse(Runtime.getRuntime().availableProcessors());
+
+        // I kept the results per structure label, then per thread count.
+        Map<String, Map<Integer, Double>> throughput = new LinkedHashMap<>();
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .include(commandLine.getIncludes().isEmpty() ? "ConcurrentSetBenchmark" : commandLine.getIncludes().get(0))
+                    .threads(threads)
+                    .build();
+            Collection<RunResult> results = new Runner(options).run();
+            for (RunResult result : results) {
+                // I kept the read mix in the label so runs with several -p readPercent values stay apart.
+                BenchmarkParams params = result.getParams();
+                String label = params.getBenchmark().replaceAll(".*\\.", "") + " " + params.getParam("structure");
+                if (params.getParam("readPercent") != null) {
+                    label += " " + params.getParam("readPercent") + "% reads";
+                }
+                throughput.computeIfAbsent(label, key -> new TreeMap<>())
+                        .put(threads, opsPerSecond(result.getPrimaryResult()));
+            }
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+
+        System.out.println();
+        System.out.println("Throughput scaling (ops/s, efficiency = ops(n) / (n * ops(1)))");
+        for (Map.Entry<String, Map<Integer, Double>> entry : throughput.entrySet()) {
+            Map<Integer, Double> byThreads = entry.getValue();
+            double single = byThreads.getOrDefault(1, Double.NaN);
+            List<String> cells = new ArrayList<>();
+            for (Map.Entry<Integer, Double> point : byThreads.entrySet()) {
+                double efficiency = point.getValue() / (point.getKey() * single);
+                cells.add(String.format("%d threads: %,.0f (%.0f%%)", point.getKey(), point.getValue(), efficiency * 100));
+            }
+            System.out.printf("%-60s %s%n", entry.getKey(), String.join("   ", cells));
+        }
+    }
+
+    private static double opsPerSecond(Result<?> result) {
+        // I converted from whatever time unit the benchmark reports in, e.g. ops/us, to ops/s.
+        String unit = result.getScoreUnit();
+        TimeUnit timeUnit;
+        switch (unit.substring(unit.indexOf('/') + 1)) {
+            case "ns": timeUnit = TimeUnit.NANOSECONDS; break;
+            case "us": timeUnit = TimeUnit.MICROSECONDS; break;
+            case "ms": timeUnit = TimeUnit.MILLISECONDS; break;
+            case "min": timeUnit = TimeUnit.MINUTES; break;
+            default: timeUnit = TimeUnit.SECONDS; break;
+        }
+        return result.getScore() * TimeUnit.SECONDS.toNanos(1) / timeUnit.toNanos(1);
+    }
+}
@@ -0,0 +1,82 @@
+package datastructures.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import datastructures.HashTableSnapshot;
+import datastructures.HashTables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// I timed how long a quadratic probing table takes to answer its first lookup after a restart:
+// reinserting every key from capacity 16, mapping a snapshot file, or copying the snapshot back
+// into a writable HashTables. The file stays in the page cache, so this is a warm start.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class WarmStartBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private Integer[] keys;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        keys = new Integer[size];
+        int[] order = Workload.UNIQUE.generate(size, SEED);
+        HashTables<Integer> table = new HashTables<>(Structure.HASH_TABLE_INITIAL_CAPACITY, HashTables.QUADRATIC_PROBING);
+        for (int i = 0; i < size; i++) {
+            keys[i] = order[i];
+            table.insert(keys[i]);
+        }
+        file = Files.createTempFile("hashtables", ".snapshot");
+        table.writeSnapshot(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public boolean reinsert() {
+        HashTables<Integer> table = new HashTables<>(Structure.HASH_TABLE_INITIAL_CAPACITY, HashTables.QUADRATIC_PROBING);
+        for (Integer key : keys) {
+            table.insert(key);
+        }
+        return table.contains(keys[size / 2]);
+    }
+
+    @Benchmark
+    public boolean mapSnapshot() throws IOException {
+        try (HashTableSnapshot<Integer> snapshot = HashTableSnapshot.open(file)) {
+            return snapshot.contains(keys[size / 2]);
+        }
+    }
+
+    @Benchmark
+    public boolean restoreSnapshot() throws IOException {
+        try (HashTableSnapshot<Integer> snapshot = HashTableSnapshot.open(file)) {
+            return snapshot.toHashTables().contains(keys[size / 2]);
+        }
+    }
+}
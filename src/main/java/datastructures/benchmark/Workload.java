@@ -0,0 +1,149 @@
+package datastructures.benchmark;
+
+import java.util.Random;
+
+// I described here how the keys for a benchmark run are generated.
+public enum Workload {
+    // I kept the original generator: uniform keys in [0, size * 10), duplicates allowed.
+    UNIFORM {
+        @Override
+        public int[] generate(int size, long seed, double zipfExponent) {
+            Random random = new Random(seed);
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = random.nextInt(size * 10);
+            }
+            return keys;
+        }
+    },
+    // I made this one a shuffled permutation of [0, size) so every insert adds a new key.
+    UNIQUE {
+        @Override
+        public int[] generate(int size, long seed, double zipfExponent) {
+            return permutation(size, new Random(seed));
+        }
+    },
+    // I drew keys from [0, size) with Zipf-distributed popularity, so a few keys take most of the traffic.
+    ZIPFIAN {
+        @Override
+        public int[] generate(int size, long seed, double zipfExponent) {
+            Random random = new Random(seed);
+            // I shuffled which key gets which popularity rank so the hot keys are not all small numbers.
+            int[] keyOfRank = permutation(size, random);
+            double[] cumulative = zipfCumulative(size, zipfExponent);
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = keyOfRank[sampleRank(cumulative, random.nextDouble())];
+            }
+            return keys;
+        }
+    },
+    // I sent the keys in ascending order, the classic worst case for an unbalanced tree.
+    ASCENDING {
+        @Override
+        public int[] generate(int size, long seed, double zipfExponent) {
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i;
+            }
+            return keys;
+        }
+    },
+    DESCENDING {
+        @Override
+        public int[] generate(int size, long seed, double zipfExponent) {
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = size - 1 - i;
+            }
+            return keys;
+        }
+    },
+    // I sent 90% of the keys to a hot window of a tenth of the key space, and moved the window
+    // ten times over the run, so what was hot goes cold.
+    HOT_SET_SHIFT {
+        @Override
+        public int[] generate(int size, long seed, double zipfExponent) {
+            Random random = new Random(seed);
+            int window = Math.max(1, size / HOT_SET_PHASES);
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                int phase = (int) ((long) i * HOT_SET_PHASES / size);
+                if (random.nextInt(100) < HOT_SET_PERCENT) {
+                    keys[i] = phase * window + random.nextInt(window);
+                } else {
+                    keys[i] = random.nextInt(size);
+                }
+            }
+            return keys;
+        }
+    },
+    // I made every key a multiple of 1024. With a power-of-two capacity, hashCode() % capacity then
+    // sends them all to one bucket in 1024 in the chaining and quadratic probing modes.
+    COLLIDING {
+        @Override
+        public int[] generate(int size, long seed, double zipfExponent) {
+            int[] keys = permutation(size, new Random(seed));
+            for (int i = 0; i < size; i++) {
+                keys[i] *= COLLISION_STRIDE;
+            }
+            return keys;
+        }
+    };
+
+    // I used the exponent YCSB uses for its Zipfian request distribution when none is given.
+    public static final double DEFAULT_ZIPF_EXPONENT = 0.99;
+
+    private static final int HOT_SET_PHASES = 10;
+    private static final int HOT_SET_PERCENT = 90;
+    private static final int COLLISION_STRIDE = 1024;
+
+    public int[] generate(int size, long seed) {
+        return generate(size, seed, DEFAULT_ZIPF_EXPONENT);
+    }
+
+    // I passed the exponent to every workload, though only ZIPFIAN reads it.
+    public abstract int[] generate(int size, long seed, double zipfExponent);
+
+    private static int[] permutation(int size, Random random) {
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+        return keys;
+    }
+
+    private static double[] zipfCumulative(int size, double exponent) {
+        // I summed 1 / rank^exponent once, so each sample is one binary search.
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int sampleRank(double[] cumulative, double u) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}